@@ -0,0 +1,64 @@
+package github.axolotl.benchmark;
+
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.elevator.Building;
+import github.axolotl.elevator.Direction;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.passenger.Passenger;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在不同的等待队列长度和楼层数下测量各调度算法单次 doLogic 的开销
+ * 电梯停在中间楼层并保持向上运行, 等待乘客随机分布在各楼层
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/23
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlgorithmBenchmark {
+    @Param({"FCFS", "SCAN", "LOOK", "SSTF", "FDSCAN"})
+    private String algorithm;
+
+    @Param({"10", "1000", "100000"})
+    private int queueDepth;
+
+    @Param({"10", "100"})
+    private int floors;
+
+    private Building building;
+    private Building.Elevator elevator;
+    private ElevatorSchedulingAlgorithm schedulingAlgorithm;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        building = new Building(0, floors, 3.0, 100, new EventRecoder());
+        schedulingAlgorithm = Algorithms.create(algorithm);
+        elevator = building.new Elevator(1.5);
+        elevator.setSchedulingAlgorithm(schedulingAlgorithm);
+        building.addElevator(elevator);
+        elevator.setCurrentFloor(floors / 2 * building.getFloorHeight() + 1.0);//停在两层之间, 不会接到乘客
+
+        Random random = new Random(42);
+        for (int i = 0; i < queueDepth; i++) {
+            int startFloor = random.nextInt(1, floors + 1);
+            int destFloor = random.nextInt(1, floors);
+            if (destFloor >= startFloor) destFloor++;
+            building.passengerCall(new Passenger(startFloor, destFloor));
+        }
+    }
+
+    @Benchmark
+    public Building.Elevator doLogic() {
+        elevator.setDirection(Direction.UP);
+        return schedulingAlgorithm.doLogic(building, elevator);
+    }
+}
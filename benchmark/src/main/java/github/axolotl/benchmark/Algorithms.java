@@ -0,0 +1,31 @@
+package github.axolotl.benchmark;
+
+import github.axolotl.algorithm.Algorithm_FCFS;
+import github.axolotl.algorithm.Algorithm_FDSCAN;
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.algorithm.Algorithm_SCAN;
+import github.axolotl.algorithm.Algorithm_SSTF;
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+
+/**
+ * 按名称创建调度算法, 供 @Param 使用
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/23
+ */
+final class Algorithms {
+    private Algorithms() {
+    }
+
+    static ElevatorSchedulingAlgorithm create(String name) {
+        return switch (name) {
+            case "FCFS" -> new Algorithm_FCFS();
+            case "SCAN" -> new Algorithm_SCAN();
+            case "LOOK" -> new Algorithm_LOOK();
+            case "SSTF" -> new Algorithm_SSTF();
+            case "FDSCAN" -> new Algorithm_FDSCAN();
+            default -> throw new IllegalArgumentException("未知的调度算法: " + name);
+        };
+    }
+}
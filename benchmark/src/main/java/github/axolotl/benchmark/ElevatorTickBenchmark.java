@@ -0,0 +1,52 @@
+package github.axolotl.benchmark;
+
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.elevator.Building;
+import github.axolotl.elevator.Direction;
+import github.axolotl.event.EventRecoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单独测量 Elevator.doTick
+ * IDLE: 电梯空闲; MOVING: 电梯在楼层间往返运行, 途经楼层但不停靠
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/23
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElevatorTickBenchmark {
+    @Param({"IDLE", "MOVING"})
+    private String state;
+
+    @Param({"10", "100"})
+    private int floors;
+
+    private Building.Elevator elevator;
+    private double top;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Building building = new Building(0, floors, 3.0, 100, new EventRecoder());
+        elevator = building.new Elevator(1.5);
+        elevator.setSchedulingAlgorithm(new Algorithm_LOOK());
+        building.addElevator(elevator);
+        top = (floors - 1) * building.getFloorHeight();
+
+        if ("MOVING".equals(state)) elevator.setDirection(Direction.UP);
+    }
+
+    @Benchmark
+    public double doTick() {
+        elevator.doTick();
+        if (elevator.getCurrentFloor() >= top) elevator.setCurrentFloor(0);//到顶后回到底层继续运行
+        return elevator.getCurrentFloor();
+    }
+}
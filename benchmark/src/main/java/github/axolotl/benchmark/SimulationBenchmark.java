@@ -0,0 +1,54 @@
+package github.axolotl.benchmark;
+
+import github.axolotl.elevator.Building;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.model.TestModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 完整运行一次 TestModel 中的模型(不导出数据)
+ * 每次调用都是一次完整的模拟, 所以使用单次计时
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/23
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class SimulationBenchmark {
+    @Param({"A", "B", "C"})
+    private String model;
+
+    @Param({"FCFS", "SCAN", "LOOK", "SSTF", "FDSCAN"})
+    private String algorithm;
+
+    @Param({"tick", "event"})
+    private String engine;
+
+    private Building building;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        EventRecoder eventRecoder = new EventRecoder();
+        building = switch (model) {
+            case "A" -> TestModel.createModelA(Algorithms.create(algorithm), eventRecoder);
+            case "B" -> TestModel.createModelB(Algorithms.create(algorithm), eventRecoder);
+            case "C" -> TestModel.createModelC(Algorithms.create(algorithm), eventRecoder);
+            default -> throw new IllegalArgumentException("未知的模型: " + model);
+        };
+        building.seed(42);//每次迭代模拟完全相同的乘客
+    }
+
+    @Benchmark
+    public Building startSimulation() {
+        if ("event".equals(engine)) building.startEventSimulation();
+        else building.startSimulation();
+        return building;
+    }
+}
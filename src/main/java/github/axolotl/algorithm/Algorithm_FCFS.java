@@ -39,7 +39,7 @@ public class Algorithm_FCFS implements ElevatorSchedulingAlgorithm {
         }
 
 
-        List<Passenger> waitingPassengers = building.getWaitingPassengers();
+        List<Passenger> waitingPassengers = elevator.getWaitingPassengers();
 //        System.out.println("waitingPassengers = " + waitingPassengers);
         if (!waitingPassengers.isEmpty()) {
             Passenger passenger = waitingPassengers.get(0);
@@ -3,101 +3,50 @@ package github.axolotl.algorithm;
 import github.axolotl.elevator.Building;
 import github.axolotl.elevator.Building.Elevator;
 import github.axolotl.elevator.Direction;
+import github.axolotl.elevator.HallCallIndex;
 import github.axolotl.passenger.Passenger;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import github.axolotl.util.FloorBitmap;
 
 /**
  * FD-SCAN电梯调度算法
  * FD-SCAN（Full Direction Scan）是一种综合考虑乘客等待方向和目标方向的算法。
  * 该算法在调度时，考虑乘客的当前方向和电梯的当前方向是否一致，优先服务方向一致的乘客，
  * 减少乘客的平均等待时间和电梯的能耗。
- * 
+ * <p>
+ * 向上和向下的请求队列直接使用电梯负责的 {@link HallCallIndex}: 乘客呼叫时加入, 进入任意一部电梯时移除,
+ * 不再每个tick重建队列, doLogic只需要在按方向分开的楼层位图上查找。
+ *
  * @author AxolotlXM
  * @version 1.0
  * @since 2025/4/15
  */
 public class Algorithm_FDSCAN implements ElevatorSchedulingAlgorithm {
 
-    // 存储每部电梯的请求队列
-    private final Map<String, List<Passenger>> upRequestsMap = new HashMap<>();
-    private final Map<String, List<Passenger>> downRequestsMap = new HashMap<>();
-
     @Override
     public Elevator doLogic(Building building, Elevator elevator) {
-        String elevatorId = elevator.getId();
-        
-        // 确保请求队列存在
-        if (!upRequestsMap.containsKey(elevatorId)) {
-            upRequestsMap.put(elevatorId, new ArrayList<>());
-        }
-        if (!downRequestsMap.containsKey(elevatorId)) {
-            downRequestsMap.put(elevatorId, new ArrayList<>());
-        }
-        
-        List<Passenger> upRequests = upRequestsMap.get(elevatorId);
-        List<Passenger> downRequests = downRequestsMap.get(elevatorId);
-        
         // 处理电梯等待状态
         if (elevator.getDirection() == Direction.WAIT) {
             return elevator;
         }
         
-        // 更新请求队列
-        updateRequestQueues(building, elevator, upRequests, downRequests);
-        
-        // 判断电梯方向和处理乘客请求
-        double currentFloor = elevator.getCurrentFloor();
-        
         // 如果电梯内有乘客，优先考虑电梯内乘客
         if (!elevator.getPassengers().isEmpty()) {
             processInternalRequests(building, elevator);
         } else {
             // 电梯内没有乘客，处理外部请求
-            processExternalRequests(elevator, upRequests, downRequests, currentFloor);
+            processExternalRequests(building, elevator);
         }
         
         return elevator;
     }
 
-    /**
-     * 更新请求队列
-     */
-    private void updateRequestQueues(Building building, Elevator elevator, List<Passenger> upRequests, List<Passenger> downRequests) {
-        // 清除已完成的请求
-        upRequests.removeIf(p -> elevator.getPassengers().contains(p));
-        downRequests.removeIf(p -> elevator.getPassengers().contains(p));
-        
-        // 添加新的外部请求
-        for (Passenger passenger : building.getWaitingPassengers()) {
-            if (passenger.getDirection() == Direction.UP && !upRequests.contains(passenger)) {
-                upRequests.add(passenger);
-            } else if (passenger.getDirection() == Direction.DOWN && !downRequests.contains(passenger)) {
-                downRequests.add(passenger);
-            }
-        }
-    }
-
     /**
      * 处理电梯内部乘客请求
      */
     private void processInternalRequests(Building building, Elevator elevator) {
-        double currentFloor = elevator.getCurrentFloor();
-        boolean hasUpRequests = false;
-        boolean hasDownRequests = false;
-        
-        // 检查电梯内乘客的目标方向
-        for (Passenger passenger : elevator.getPassengers()) {
-            double targetFloor = passenger.getTargetFloorHeight(building);
-            if (targetFloor > currentFloor) {
-                hasUpRequests = true;
-            } else if (targetFloor < currentFloor) {
-                hasDownRequests = true;
-            }
-        }
+        // 直接读取电梯内乘客的目标楼层位图
+        boolean hasUpRequests = elevator.hasDestinationAbove();
+        boolean hasDownRequests = elevator.hasDestinationBelow();
         
         // 根据FD-SCAN逻辑调整电梯方向
         if (elevator.getDirection() == Direction.UP) {
@@ -129,44 +78,41 @@ public class Algorithm_FDSCAN implements ElevatorSchedulingAlgorithm {
     /**
      * 处理外部请求
      */
-    private void processExternalRequests(Elevator elevator, List<Passenger> upRequests, List<Passenger> downRequests, double currentFloor) {
-        boolean hasUpRequests = !upRequests.isEmpty();
-        boolean hasDownRequests = !downRequests.isEmpty();
-        
+    private void processExternalRequests(Building building, Elevator elevator) {
         if (elevator.getDirection() == Direction.UP) {
             // 电梯向上运行
-            if (hasUpRequestsAbove(upRequests, currentFloor)) {
+            if (elevator.hasWaitingAbove(Direction.UP)) {
                 elevator.setDirection(Direction.UP);
-            } else if (hasDownRequestsAbove(downRequests, currentFloor)) {
+            } else if (elevator.hasWaitingAbove(Direction.DOWN)) {
                 elevator.setDirection(Direction.UP);
-            } else if (hasDownRequestsBelow(downRequests, currentFloor)) {
+            } else if (elevator.hasWaitingBelow(Direction.DOWN)) {
                 elevator.setDirection(Direction.DOWN);
-            } else if (hasUpRequestsBelow(upRequests, currentFloor)) {
+            } else if (elevator.hasWaitingBelow(Direction.UP)) {
                 elevator.setDirection(Direction.DOWN);
             } else {
                 elevator.setDirection(Direction.IDLE);
             }
         } else if (elevator.getDirection() == Direction.DOWN) {
             // 电梯向下运行
-            if (hasDownRequestsBelow(downRequests, currentFloor)) {
+            if (elevator.hasWaitingBelow(Direction.DOWN)) {
                 elevator.setDirection(Direction.DOWN);
-            } else if (hasUpRequestsBelow(upRequests, currentFloor)) {
+            } else if (elevator.hasWaitingBelow(Direction.UP)) {
                 elevator.setDirection(Direction.DOWN);
-            } else if (hasUpRequestsAbove(upRequests, currentFloor)) {
+            } else if (elevator.hasWaitingAbove(Direction.UP)) {
                 elevator.setDirection(Direction.UP);
-            } else if (hasDownRequestsAbove(downRequests, currentFloor)) {
+            } else if (elevator.hasWaitingAbove(Direction.DOWN)) {
                 elevator.setDirection(Direction.UP);
             } else {
                 elevator.setDirection(Direction.IDLE);
             }
         } else {
             // 电梯处于IDLE状态
-            Passenger nearestPassenger = findNearestPassenger(upRequests, downRequests, currentFloor);
-            if (nearestPassenger != null) {
-                double passengerFloor = nearestPassenger.getOriginFloor();
-                if (passengerFloor > currentFloor) {
+            int nearestFloor = findNearestFloor(building, elevator);
+            if (nearestFloor > 0) {
+                long passengerPosition = building.floorPosition(nearestFloor);
+                if (passengerPosition > elevator.getPosition()) {
                     elevator.setDirection(Direction.UP);
-                } else if (passengerFloor < currentFloor) {
+                } else if (passengerPosition < elevator.getPosition()) {
                     elevator.setDirection(Direction.DOWN);
                 }
             }
@@ -174,99 +120,49 @@ public class Algorithm_FDSCAN implements ElevatorSchedulingAlgorithm {
     }
 
     /**
-     * 检查当前楼层以上是否有向上的请求
+     * 查找离电梯最近的请求楼层, 按电梯位置(mm)到楼层的距离比较
+     * 距离相同时与按队列顺序查找一致: 先看向上的请求, 同一方向中取最早呼叫的乘客所在的楼层
+     *
+     * @return 楼层, 没有请求时返回-1
      */
-    private boolean hasUpRequestsAbove(List<Passenger> upRequests, double currentFloor) {
-        for (Passenger passenger : upRequests) {
-            if (passenger.getOriginFloor() > currentFloor) {
-                return true;
-            }
-        }
-        return false;
-    }
+    private int findNearestFloor(Building building, Elevator elevator) {
+        HallCallIndex requests = elevator.getAssignedCalls();
+        FloorBitmap upRequests = requests.getCalls(Direction.UP);
+        FloorBitmap downRequests = requests.getCalls(Direction.DOWN);
 
-    /**
-     * 检查当前楼层以下是否有向上的请求
-     */
-    private boolean hasUpRequestsBelow(List<Passenger> upRequests, double currentFloor) {
-        for (Passenger passenger : upRequests) {
-            if (passenger.getOriginFloor() < currentFloor) {
-                return true;
-            }
-        }
-        return false;
-    }
+        long position = elevator.getPosition();
+        int middle = (int) elevator.getFloorNumber() + 1;//当前位置所在或下方最近的楼层
+        int below = Math.max(upRequests.previousSetBit(middle), downRequests.previousSetBit(middle));
+        int above = min(upRequests.nextSetBit(middle + 1), downRequests.nextSetBit(middle + 1));
+        if (below < 0) return above;
+        if (above < 0) return below;
 
-    /**
-     * 检查当前楼层以上是否有向下的请求
-     */
-    private boolean hasDownRequestsAbove(List<Passenger> downRequests, double currentFloor) {
-        for (Passenger passenger : downRequests) {
-            if (passenger.getOriginFloor() > currentFloor) {
-                return true;
-            }
-        }
-        return false;
-    }
+        long belowDistance = Math.abs(building.floorPosition(below) - position);
+        long aboveDistance = Math.abs(building.floorPosition(above) - position);
+        if (belowDistance != aboveDistance) return belowDistance < aboveDistance ? below : above;
 
-    /**
-     * 检查当前楼层以下是否有向下的请求
-     */
-    private boolean hasDownRequestsBelow(List<Passenger> downRequests, double currentFloor) {
-        for (Passenger passenger : downRequests) {
-            if (passenger.getOriginFloor() < currentFloor) {
-                return true;
-            }
-        }
-        return false;
+        long belowSequence = requests.firstSequence(below, Direction.UP);
+        long aboveSequence = requests.firstSequence(above, Direction.UP);
+        if (belowSequence == aboveSequence) {
+            //两层都没有向上的请求
+            belowSequence = requests.firstSequence(below, Direction.DOWN);
+            aboveSequence = requests.firstSequence(above, Direction.DOWN);
+        }
+        return belowSequence < aboveSequence ? below : above;
     }
 
     /**
-     * 查找离电梯最近的乘客
+     * 两个楼层中较小的一个, -1表示不存在
      */
-    private Passenger findNearestPassenger(List<Passenger> upRequests, List<Passenger> downRequests, double currentFloor) {
-        Passenger nearestPassenger = null;
-        double minDistance = Double.MAX_VALUE;
-        
-        // 检查向上请求
-        for (Passenger passenger : upRequests) {
-            double distance = Math.abs(passenger.getOriginFloor() - currentFloor);
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearestPassenger = passenger;
-            }
-        }
-        
-        // 检查向下请求
-        for (Passenger passenger : downRequests) {
-            double distance = Math.abs(passenger.getOriginFloor() - currentFloor);
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearestPassenger = passenger;
-            }
-        }
-        
-        return nearestPassenger;
+    private static int min(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        return Math.min(a, b);
     }
 
     @Override
     public Elevator passengerCall(Building building, Elevator elevator, Passenger passenger) {
-        // 接收到乘客呼叫时更新请求队列
-        String elevatorId = elevator.getId();
-        
-        if (!upRequestsMap.containsKey(elevatorId)) {
-            upRequestsMap.put(elevatorId, new ArrayList<>());
-        }
-        if (!downRequestsMap.containsKey(elevatorId)) {
-            downRequestsMap.put(elevatorId, new ArrayList<>());
-        }
-        
-        if (passenger.getDirection() == Direction.UP && !upRequestsMap.get(elevatorId).contains(passenger)) {
-            upRequestsMap.get(elevatorId).add(passenger);
-        } else if (passenger.getDirection() == Direction.DOWN && !downRequestsMap.get(elevatorId).contains(passenger)) {
-            downRequestsMap.get(elevatorId).add(passenger);
-        }
-        
+        // 请求队列由电梯的HallCallIndex维护, 这里不需要处理
         return elevator;
     }
-} 
\ No newline at end of file
+}
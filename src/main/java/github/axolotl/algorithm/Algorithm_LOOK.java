@@ -5,7 +5,6 @@ import github.axolotl.elevator.Building.Elevator;
 import github.axolotl.elevator.Direction;
 import github.axolotl.passenger.Passenger;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,7 +31,7 @@ public class Algorithm_LOOK implements ElevatorSchedulingAlgorithm {
         }
         
         // 如果电梯中没有乘客，处理等待的乘客请求
-        List<Passenger> waitingPassengers = building.getWaitingPassengers();
+        List<Passenger> waitingPassengers = elevator.getWaitingPassengers();
         if (!waitingPassengers.isEmpty()) {
             handleWaitingPassengers(building, elevator);
         } else {
@@ -47,19 +46,9 @@ public class Algorithm_LOOK implements ElevatorSchedulingAlgorithm {
      * 处理电梯内的乘客请求
      */
     private void handlePassengersInElevator(Building building, Elevator elevator) {
-        double currentFloor = elevator.getCurrentFloor();
-        boolean hasRequestsAbove = false;
-        boolean hasRequestsBelow = false;
-        
-        // 检查是否有向上或向下的请求
-        for (Passenger passenger : elevator.getPassengers()) {
-            double targetFloor = passenger.getTargetFloorHeight(building);
-            if (targetFloor > currentFloor) {
-                hasRequestsAbove = true;
-            } else if (targetFloor < currentFloor) {
-                hasRequestsBelow = true;
-            }
-        }
+        // 直接读取电梯内乘客的目标楼层位图
+        boolean hasRequestsAbove = elevator.hasDestinationAbove();
+        boolean hasRequestsBelow = elevator.hasDestinationBelow();
         
         // 根据LOOK算法调整电梯方向
         if (elevator.getDirection() == Direction.UP) {
@@ -93,18 +82,9 @@ public class Algorithm_LOOK implements ElevatorSchedulingAlgorithm {
      */
     private void handleWaitingPassengers(Building building, Elevator elevator) {
         double currentFloor = elevator.getCurrentFloor();
-        boolean hasRequestsAbove = false;
-        boolean hasRequestsBelow = false;
-        
-        // 检查是否有向上或向下的请求
-        for (Passenger passenger : building.getWaitingPassengers()) {
-            double originFloor = passenger.getOriginFloorHeight(building);
-            if (originFloor > currentFloor) {
-                hasRequestsAbove = true;
-            } else if (originFloor < currentFloor) {
-                hasRequestsBelow = true;
-            }
-        }
+        // 直接读取等待乘客的楼层位图
+        boolean hasRequestsAbove = elevator.hasWaitingAbove();
+        boolean hasRequestsBelow = elevator.hasWaitingBelow();
         
         // 根据LOOK算法调整电梯方向
         if (elevator.getDirection() == Direction.UP) {
@@ -125,9 +105,9 @@ public class Algorithm_LOOK implements ElevatorSchedulingAlgorithm {
             }
         } else {
             // 如果是IDLE状态，根据最近的请求决定方向
-            Passenger nearestPassenger = findNearestPassenger(building, elevator);
-            if (nearestPassenger != null) {
-                double originFloor = nearestPassenger.getOriginFloorHeight(building);
+            int nearestFloor = elevator.getNearestWaitingFloor();
+            if (nearestFloor >= 0) {
+                double originFloor = (nearestFloor - 1) * building.getFloorHeight();
                 if (originFloor > currentFloor) {
                     elevator.setDirection(Direction.UP);
                 } else if (originFloor < currentFloor) {
@@ -137,25 +117,6 @@ public class Algorithm_LOOK implements ElevatorSchedulingAlgorithm {
         }
     }
 
-    /**
-     * 查找最近的乘客
-     */
-    private Passenger findNearestPassenger(Building building, Elevator elevator) {
-        double currentFloor = elevator.getCurrentFloor();
-        double minDistance = Double.MAX_VALUE;
-        Passenger nearestPassenger = null;
-        
-        for (Passenger passenger : building.getWaitingPassengers()) {
-            double distance = Math.abs(passenger.getOriginFloorHeight(building) - currentFloor);
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearestPassenger = passenger;
-            }
-        }
-        
-        return nearestPassenger;
-    }
-
     @Override
     public Elevator passengerCall(Building building, Elevator elevator, Passenger passenger) {
         // 在接收到乘客呼叫时可以优化电梯行为，但基本逻辑在doLogic中已处理
@@ -44,7 +44,7 @@ public class Algorithm_SCAN implements ElevatorSchedulingAlgorithm {
         }
         
         // 检查当前方向是否还有请求
-        List<Passenger> waitingPassengers = building.getWaitingPassengers();
+        List<Passenger> waitingPassengers = elevator.getWaitingPassengers();
         if (waitingPassengers.isEmpty()) {
             // 如果没有等待的乘客，继续扫描到端点
             return elevator;
@@ -53,21 +53,9 @@ public class Algorithm_SCAN implements ElevatorSchedulingAlgorithm {
         // 检查当前方向是否还有请求
         boolean hasRequestsInCurrentDirection = false;
         if (elevator.getDirection() == Direction.UP) {
-            for (Passenger passenger : waitingPassengers) {
-                double originFloor = passenger.getOriginFloorHeight(building);
-                if (originFloor > currentFloor) {
-                    hasRequestsInCurrentDirection = true;
-                    break;
-                }
-            }
+            hasRequestsInCurrentDirection = elevator.hasWaitingAbove();
         } else if (elevator.getDirection() == Direction.DOWN) {
-            for (Passenger passenger : waitingPassengers) {
-                double originFloor = passenger.getOriginFloorHeight(building);
-                if (originFloor < currentFloor) {
-                    hasRequestsInCurrentDirection = true;
-                    break;
-                }
-            }
+            hasRequestsInCurrentDirection = elevator.hasWaitingBelow();
         }
         
         // 如果当前方向没有请求，且电梯未到达端点，继续按当前方向移动
@@ -5,7 +5,6 @@ import github.axolotl.elevator.Building.Elevator;
 import github.axolotl.elevator.Direction;
 import github.axolotl.passenger.Passenger;
 
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -33,10 +32,10 @@ public class Algorithm_SSTF implements ElevatorSchedulingAlgorithm {
         }
         
         // 如果电梯内没有乘客，查找最近的外部请求
-        List<Passenger> waitingPassengers = building.getWaitingPassengers();
+        List<Passenger> waitingPassengers = elevator.getWaitingPassengers();
         if (!waitingPassengers.isEmpty()) {
-            // 找到距离电梯当前位置最近的乘客
-            Passenger nearestPassenger = findNearestPassenger(building, elevator, waitingPassengers);
+            // 找到距离电梯当前位置最近的乘客, 距离相同时取最早呼叫的
+            Passenger nearestPassenger = elevator.getAssignedCalls().first(elevator.getNearestWaitingFloor());
             
             // 根据最近乘客的位置设置电梯方向
             double currentFloor = elevator.getCurrentFloor();
@@ -63,15 +62,24 @@ public class Algorithm_SSTF implements ElevatorSchedulingAlgorithm {
         return elevator;
     }
     
+    /**
+     * 距离楼层0.01m以内视为已经到达, 楼层上下10mm也是判断改变的位置
+     */
+    @Override
+    public long[] decisionOffsets(Building building) {
+        return new long[]{-10, 0, 10, building.getFloorHeightMm() / 2};
+    }
+
     /**
      * 处理电梯内乘客的请求
      */
     private void handlePassengersInElevator(Building building, Elevator elevator) {
         double currentFloor = elevator.getCurrentFloor();
-        Passenger nearestPassenger = findNearestPassengerInElevator(building, elevator);
+        // 直接读取电梯内乘客的目标楼层位图
+        int nearestFloor = elevator.getNearestDestination();
         
-        if (nearestPassenger != null) {
-            double targetFloor = nearestPassenger.getTargetFloorHeight(building);
+        if (nearestFloor >= 0) {
+            double targetFloor = (nearestFloor - 1) * building.getFloorHeight();
             
             if (targetFloor > currentFloor) {
                 elevator.setDirection(Direction.UP);
@@ -83,28 +91,6 @@ public class Algorithm_SSTF implements ElevatorSchedulingAlgorithm {
         }
     }
     
-    /**
-     * 找到电梯内距离当前位置最近的乘客
-     */
-    private Passenger findNearestPassengerInElevator(Building building, Elevator elevator) {
-        double currentFloor = elevator.getCurrentFloor();
-        return elevator.getPassengers().stream()
-                .min(Comparator.comparingDouble(passenger -> 
-                        Math.abs(passenger.getTargetFloorHeight(building) - currentFloor)))
-                .orElse(null);
-    }
-    
-    /**
-     * 找到等待乘客中距离电梯当前位置最近的乘客
-     */
-    private Passenger findNearestPassenger(Building building, Elevator elevator, List<Passenger> waitingPassengers) {
-        double currentFloor = elevator.getCurrentFloor();
-        return waitingPassengers.stream()
-                .min(Comparator.comparingDouble(passenger -> 
-                        Math.abs(passenger.getOriginFloorHeight(building) - currentFloor)))
-                .orElse(null);
-    }
-
     @Override
     public Elevator passengerCall(Building building, Elevator elevator, Passenger passenger) {
         // 这里不需要特殊处理，因为在doLogic中已经实现了SSTF逻辑
@@ -12,4 +12,14 @@ public interface ElevatorSchedulingAlgorithm {
     Building.Elevator doLogic(Building building,Building.Elevator elevator );//执行一次算法逻辑
     Building.Elevator passengerCall(Building building,Building.Elevator elevator,  Passenger passenger);//乘客唤起电梯
 
+    /**
+     * 运行中的电梯经过哪些位置时doLogic的结果可能改变, 以相对每层楼面的偏移(mm)表示
+     * {@link github.axolotl.elevator.AdaptiveStepEngine} 只在这些位置附近缩短步长。
+     * 默认是楼层本身和两层之间的中点, 即 {@link Building.Elevator#hasWaitingAbove()}、
+     * {@link Building.Elevator#getNearestWaitingFloor()} 等查询的结果改变的位置;
+     * 用其他阈值比较位置的算法需要在这里加上这些阈值。
+     */
+    default long[] decisionOffsets(Building building) {
+        return new long[]{0, building.getFloorHeightMm() / 2};
+    }
 }
@@ -0,0 +1,49 @@
+package github.axolotl.algorithm;
+
+import github.axolotl.elevator.Building;
+import github.axolotl.elevator.Direction;
+import github.axolotl.passenger.Passenger;
+
+/**
+ * 多部电梯的群控
+ * 在 {@link ElevatorSchedulingAlgorithm} 之上, 把每个厅外呼叫只分配给一部电梯,
+ * 避免多部电梯同时去接同一个乘客。只在乘客呼叫时计算, 不会每个tick重新计算。
+ * 有新的呼叫时, 分配到这个呼叫的电梯负责的其他乘客会按楼层和方向重新评估一次。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ * @see Building#setGroupController(GroupController)
+ */
+public interface GroupController {
+    /**
+     * 为新的厅外呼叫选择一部电梯
+     *
+     * @param building  建筑
+     * @param passenger 刚刚呼叫的乘客, 还没有分配给任何电梯
+     * @return 负责接这个乘客的电梯
+     */
+    Building.Elevator assign(Building building, Passenger passenger);
+
+    /**
+     * 重新评估已经分配给owner的、某层某方向的全部等待乘客
+     * 同一层同一方向的乘客对每部电梯的代价都相同, 所以整组评估、整组移动。默认不重新分配。
+     *
+     * @param owner     当前负责这些乘客的电梯
+     * @param floor     乘客所在楼层, 从1开始
+     * @param direction 乘客要去的方向
+     * @return 负责接这些乘客的电梯, 返回owner表示不变
+     */
+    default Building.Elevator reassign(Building building, Building.Elevator owner, int floor, Direction direction) {
+        return owner;
+    }
+
+    /**
+     * 没有乘客也没有分配到请求的电梯应该停在哪一层
+     *
+     * @return 楼层(从1开始), 小于1表示原地停下
+     */
+    default int parkingFloor(Building building, Building.Elevator elevator) {
+        return -1;
+    }
+}
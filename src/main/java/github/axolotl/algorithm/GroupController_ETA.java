@@ -0,0 +1,214 @@
+package github.axolotl.algorithm;
+
+import github.axolotl.elevator.Building;
+import github.axolotl.elevator.Building.Elevator;
+import github.axolotl.elevator.Direction;
+import github.axolotl.elevator.HallCallIndex;
+import github.axolotl.passenger.Passenger;
+import github.axolotl.util.FloorBitmap;
+
+import java.util.List;
+
+/**
+ * 按预计到达时间(ETA)分配呼叫的群控
+ * 对每部电梯估算它按现在的方向走完已有的停靠后到达呼叫楼层的时间:
+ * 电梯沿当前方向运行到最远的停靠点再掉头, 经过的每个停靠点都要开关门,
+ * 正在开门的电梯还要等门关上。选择时间最短的电梯, 电梯内和已分配的乘客越多代价越高。
+ * 空闲的电梯分散停在各层, 新的呼叫总有一部电梯离得不远。
+ * <p>
+ * 重新评估已分配的乘客时, 这些乘客自己不计入负责它们的电梯的代价, 并且其他电梯至少要快 {@link #SWITCH_TIME}
+ * 才会接手, 代价相近的电梯之间不会来回交换。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class GroupController_ETA implements GroupController {
+    private static final double STOP_TIME = 1300;//一次停靠的时间(ms): 开关门1000加一个乘客进出300
+    private static final double PASSENGER_TIME = 300;//每个已有乘客带来的额外代价(ms)
+    private static final double SWITCH_TIME = STOP_TIME;//重新分配时其他电梯至少要快这么多(ms)
+
+    @Override
+    public Elevator assign(Building building, Passenger passenger) {
+        List<Elevator> elevators = building.getElevators();
+        Elevator best = null;
+        double bestCost = Double.MAX_VALUE;
+        for (int i = 0; i < elevators.size(); i++) {
+            Elevator elevator = elevators.get(i);
+            double cost = cost(building, elevator, passenger.getOriginFloor(), passenger.getDirection(), 0, 0);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = elevator;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public Elevator reassign(Building building, Elevator owner, int floor, Direction direction) {
+        //这些乘客不计入owner的代价: 乘客数量减去它们, 这一层只有它们时也不算owner已有的停靠点
+        HallCallIndex calls = owner.getAssignedCalls();
+        int count = calls.count(floor, direction);
+        int excluded = calls.count(floor) == count ? floor : 0;
+
+        List<Elevator> elevators = building.getElevators();
+        Elevator best = owner;
+        double bestCost = cost(building, owner, floor, direction, count, excluded) - SWITCH_TIME;
+        for (int i = 0; i < elevators.size(); i++) {
+            Elevator elevator = elevators.get(i);
+            if (elevator == owner) continue;
+            double cost = cost(building, elevator, floor, direction, 0, 0);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = elevator;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 电梯接走某层指定方向乘客的代价(ms): 预计到达时间加上已有乘客的代价
+     *
+     * @param ownPassengers 已经分配给这部电梯、不计入代价的乘客数量
+     * @param excludedFloor 不算作已有停靠点的楼层, 0表示没有
+     */
+    private double cost(Building building, Elevator elevator, int floor, Direction direction,
+                        int ownPassengers, int excludedFloor) {
+        int passengers = elevator.getPassengers().size() + elevator.getWaitingPassengers().size() - ownPassengers;
+        return estimate(building, elevator, floor, direction, excludedFloor) + PASSENGER_TIME * passengers;
+    }
+
+    /**
+     * 空闲的电梯按编号均匀分布在各层, 第一部电梯停在一楼
+     */
+    @Override
+    public int parkingFloor(Building building, Elevator elevator) {
+        int count = building.getElevators().size();
+        return 1 + (int) Math.round((double) elevator.getIndex() * (building.getFloors() - 1) / count);
+    }
+
+    /**
+     * 估算电梯到达某层并能接走指定方向乘客的时间(ms)
+     *
+     * @param floor     呼叫楼层, 从1开始
+     * @param direction 乘客要去的方向
+     * @param excluded  不算作呼叫停靠点的楼层, 0表示没有
+     */
+    double estimate(Building building, Elevator elevator, int floor, Direction direction, int excluded) {
+        double position = elevator.getFloorNumber() + 1;//从1开始的楼层位置
+        double msPerFloor = building.getFloorHeight() / elevator.getSpeed() * 1000;
+        FloorBitmap destinations = elevator.getDestinations();
+        FloorBitmap calls = elevator.getAssignedCalls().getCalls();
+
+        double time = elevator.getDirection() == Direction.WAIT ? Math.max(elevator.getOpenDoorTime(), 0) : 0;
+        Direction heading = heading(elevator, position, destinations, calls, excluded);
+        if (heading == Direction.IDLE) {
+            return time + Math.abs(floor - position) * msPerFloor;
+        }
+
+        double distance;
+        double low;
+        double high;
+        if (heading == Direction.UP) {
+            double top = Math.max(highest(destinations, calls, excluded), position);
+            if (floor >= position && direction == Direction.UP) {
+                //顺路
+                distance = floor - position;
+                low = position;
+                high = floor;
+            } else if (floor >= position || direction == Direction.DOWN) {
+                //到最高的停靠点掉头后向下接
+                top = Math.max(top, floor);
+                distance = (top - position) + (top - floor);
+                low = Math.min(position, floor);
+                high = top;
+            } else {
+                //向上的乘客在下面: 上去, 下到底, 再上来
+                double bottom = Math.min(lowest(destinations, calls, excluded), floor);
+                distance = (top - position) + (top - bottom) + (floor - bottom);
+                low = bottom;
+                high = top;
+            }
+        } else {
+            double bottom = Math.min(lowest(destinations, calls, excluded), position);
+            if (floor <= position && direction == Direction.DOWN) {
+                distance = position - floor;
+                low = floor;
+                high = position;
+            } else if (floor <= position || direction == Direction.UP) {
+                bottom = Math.min(bottom, floor);
+                distance = (position - bottom) + (floor - bottom);
+                low = bottom;
+                high = Math.max(position, floor);
+            } else {
+                double top = Math.max(highest(destinations, calls, excluded), floor);
+                distance = (position - bottom) + (top - bottom) + (top - floor);
+                low = bottom;
+                high = top;
+            }
+        }
+
+        return time + distance * msPerFloor + stops(destinations, calls, excluded, low, high, floor) * STOP_TIME;
+    }
+
+    /**
+     * 电梯接下来要去的方向, 正在开门或空闲的电梯按已有的停靠点判断
+     */
+    private Direction heading(Elevator elevator, double position, FloorBitmap destinations, FloorBitmap calls,
+                              int excluded) {
+        Direction direction = elevator.getDirection();
+        if (direction == Direction.UP || direction == Direction.DOWN) return direction;
+
+        if (elevator.hasDestinationAbove()) return Direction.UP;
+        if (elevator.hasDestinationBelow()) return Direction.DOWN;
+        int floor = (int) Math.round(position);
+        if (highestCall(calls, excluded) > floor) return Direction.UP;
+        if (lowestCall(calls, excluded) < floor) return Direction.DOWN;
+        return Direction.IDLE;
+    }
+
+    /**
+     * 最高的停靠点, 没有时返回0
+     */
+    private static int highest(FloorBitmap destinations, FloorBitmap calls, int excluded) {
+        return Math.max(Math.max(destinations.previousSetBit(destinations.size() - 1), highestCall(calls, excluded)), 0);
+    }
+
+    /**
+     * 最低的停靠点, 没有时返回Integer.MAX_VALUE
+     */
+    private static int lowest(FloorBitmap destinations, FloorBitmap calls, int excluded) {
+        int a = destinations.nextSetBit(1);
+        if (a < 0) a = Integer.MAX_VALUE;
+        return Math.min(a, lowestCall(calls, excluded));
+    }
+
+    /**
+     * 除excluded外最高的呼叫楼层, 没有时返回-1
+     */
+    private static int highestCall(FloorBitmap calls, int excluded) {
+        int floor = calls.previousSetBit(calls.size() - 1);
+        return excluded > 0 && floor == excluded ? calls.previousSetBit(floor - 1) : floor;
+    }
+
+    /**
+     * 除excluded外最低的呼叫楼层, 没有时返回Integer.MAX_VALUE
+     */
+    private static int lowestCall(FloorBitmap calls, int excluded) {
+        int floor = calls.nextSetBit(1);
+        if (excluded > 0 && floor == excluded) floor = calls.nextSetBit(floor + 1);
+        return floor < 0 ? Integer.MAX_VALUE : floor;
+    }
+
+    /**
+     * [low, high] 之间的停靠点数量, 不含呼叫楼层本身
+     */
+    private static int stops(FloorBitmap destinations, FloorBitmap calls, int excluded, double low, double high,
+                             int floor) {
+        int count = 0;
+        for (int f = (int) Math.ceil(low); f <= high; f++) {
+            if (f != floor && (destinations.get(f) || (f != excluded && calls.get(f)))) count++;
+        }
+        return count;
+    }
+}
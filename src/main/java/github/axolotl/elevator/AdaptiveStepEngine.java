@@ -0,0 +1,165 @@
+package github.axolotl.elevator;
+
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.elevator.Building.Elevator;
+import github.axolotl.metrics.SimulationMetrics;
+import github.axolotl.passenger.ArrivalSchedule;
+
+import java.util.List;
+
+/**
+ * 自适应步长的tick模拟引擎
+ * 结果与以细步长fineInterval固定推进的tick模拟相同, 但只在可能发生变化的tick上做完整的一步:
+ * 每一步先算出按细步长推进时最早会在哪个tick发生变化, 再一次跳到那个tick。
+ * <ul>
+ *     <li>乘客到达: 到达时间之后的第一个tick</li>
+ *     <li>运行中的电梯: 到达前方下一个位置边界的第一个tick, 边界是每层的停靠范围两端, 以及电梯的调度算法
+ *     在 {@link ElevatorSchedulingAlgorithm#decisionOffsets} 中声明的位置(默认是楼层本身和两层之间的中点),
+ *     停靠检查和调度算法的判断只会在这些位置附近改变, 每个边界前后1mm也都算作边界</li>
+ *     <li>有加减速的电梯: 经过下一层减速点的tick, 以及到达决定停靠的楼层的tick</li>
+ *     <li>开门等待的电梯: 开关门时长耗尽的tick</li>
+ * </ul>
+ * 所有电梯都空闲、或者都在两层之间运行时每步的长度是建筑的interval(最大步长), 接近停靠和开关门时缩短到细步长。
+ * <p>
+ * 有乘客到达或调度改变了电梯方向的tick总是完整处理。
+ * 跳过的tick上不会有乘客到达、电梯不会越过任何边界、门不会关闭, 调度和停靠检查的结果都与上一次相同。
+ * 电梯的位置是运行时间的解析函数, 整段时间一次推进与逐个细步长推进的位置相同, 到达每个边界的tick由运动学模型精确算出,
+ * 电梯的位置和事件的时间与固定步长完全一致。
+ * <p>
+ * 没有达到"以1s固定步长的开销得到10ms固定步长的结果"的目标: 电梯运行时每层要经过停靠范围两端和算法声明的位置,
+ * 每个位置附近都要走几个细步长, 乘客到达和开关门也总是单独的一步。12层3部LOOK电梯时实测开销约为1s固定步长的5到20倍
+ * (电梯越忙越高), 约为10ms固定步长的1/4到1/15。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class AdaptiveStepEngine {
+    private static final long NO_BOUNDARY = Long.MIN_VALUE;//前方没有边界
+
+    private final Building building;
+    private final long fineInterval;//细步长, 结果与按这个步长固定推进相同
+    private final long maxTicks;//一步最多包含的细步长数量
+    private long[][] decisionOffsets;//每部电梯的调度算法声明的判断位置, 相对楼层的偏移(mm)
+
+    /**
+     * @param fineInterval 细步长(ms), 建筑的interval作为最大步长
+     */
+    public AdaptiveStepEngine(Building building, long fineInterval) {
+        if (fineInterval <= 0) throw new IllegalArgumentException("细步长需要大于0");
+        this.building = building;
+        this.fineInterval = fineInterval;
+        this.maxTicks = Math.max(1, building.getInterval() / fineInterval);
+    }
+
+    /**
+     * 运行模拟直到duration
+     */
+    public void run() {
+        List<Elevator> elevators = building.getElevators();
+        ArrivalSchedule arrivals = new ArrivalSchedule(building);
+        long duration = building.getDuration();
+        //固定步长模拟最后一个tick开始的时间, 所有tick都在从开始时间起的细步长网格上
+        long start = building.getCurrentTime();
+        long lastTick = duration < start ? start - fineInterval : start + (duration - start) / fineInterval * fineInterval;
+        decisionOffsets = new long[elevators.size()][];
+        for (int i = 0; i < elevators.size(); i++) {
+            decisionOffsets[i] = elevators.get(i).getSchedulingAlgorithm().decisionOffsets(building);
+        }
+        SimulationMetrics metrics = building.getMetrics();
+        if (metrics != null) metrics.runStarted();
+
+        while (building.getCurrentTime() <= duration) {
+            long currentTime = building.getCurrentTime();
+            long stepStart = metrics == null ? 0 : System.nanoTime();
+            //有乘客到达或调度改变了电梯方向时, 这一个tick的停靠检查可能与上一次不同, 不能跳过
+            boolean changed = false;
+            if (arrivals.nextTime() <= currentTime) changed = building.releaseArrivals(arrivals) > 0;
+
+            for (int i = 0; i < elevators.size(); i++) {
+                Elevator elevator = elevators.get(i);
+                Direction direction = elevator.getDirection();
+                building.dispatch(elevator);
+                if (elevator.getDirection() != direction) changed = true;
+            }
+
+            long ticks = changed ? 1 : Math.min(maxTicks, (lastTick - currentTime) / fineInterval + 1);
+            long nextArrival = arrivals.nextTime();
+            if (nextArrival != Long.MAX_VALUE) ticks = Math.min(ticks, ticksUntil(nextArrival - currentTime));
+            for (int i = 0; i < elevators.size(); i++) {
+                ticks = Math.min(ticks, ticksUntilChange(elevators.get(i), decisionOffsets[i]));
+            }
+
+            //跳过的tick只移动电梯, 一次推进到最后一个tick, 再按固定步长的tick模拟完整处理这个tick
+            building.setCurrentTime(currentTime + (ticks - 1) * fineInterval);
+            for (int i = 0; i < elevators.size(); i++) {
+                Elevator elevator = elevators.get(i);
+                long elevatorStart = metrics == null ? 0 : System.nanoTime();
+                elevator.advance(ticks * fineInterval);
+                elevator.handleStop();
+                if (metrics != null) metrics.recordElevatorTick(System.nanoTime() - elevatorStart);
+            }
+            building.setCurrentTime(currentTime + ticks * fineInterval);
+            if (metrics != null) metrics.recordStep(System.nanoTime() - stepStart);
+        }
+        if (metrics != null) metrics.runFinished();
+    }
+
+    /**
+     * 从当前tick开始, 经过time(ms)之后的第一个tick是第几个, 至少为1
+     */
+    private long ticksUntil(long time) {
+        if (time <= fineInterval) return 1;
+        return (time + fineInterval - 1) / fineInterval;
+    }
+
+    /**
+     * 按细步长推进时, 电梯的状态在第几个tick之后可能发生变化
+     */
+    private long ticksUntilChange(Elevator elevator, long[] offsets) {
+        if (elevator.movingDirection() != Direction.IDLE) {
+            long time = elevator.timeToNextDecision();
+            long boundary = nextBoundary(elevator, offsets);
+            if (boundary != NO_BOUNDARY) time = Math.min(time, elevator.timeToReach(boundary));
+            return time == Long.MAX_VALUE ? Long.MAX_VALUE : ticksUntil(time);
+        }
+        if (elevator.getDirection() == Direction.WAIT) return ticksUntil(elevator.getOpenDoorTime());
+        return Long.MAX_VALUE;//空闲电梯只会被乘客到达唤醒
+    }
+
+    /**
+     * 电梯沿实际运行方向前方最近的位置边界(mm), 前方没有边界时返回 {@link #NO_BOUNDARY}
+     */
+    private long nextBoundary(Elevator elevator, long[] offsets) {
+        long floorHeight = building.getFloorHeightMm();
+        long position = elevator.getPosition();
+        long top = building.floorPosition(building.getFloors());
+        boolean up = elevator.movingDirection() == Direction.UP;
+        if (up ? position >= top : position <= 0) return NO_BOUNDARY;
+
+        //当前所在的两层之间, 以及它两侧的楼层上的边界
+        long floor = position / floorHeight;
+        long best = NO_BOUNDARY;
+        for (long k = floor - 1; k <= floor + 2; k++) {
+            long height = k * floorHeight;
+            best = closer(best, position, up, height - Building.STOP_RANGE_MM);
+            best = closer(best, position, up, height + Building.STOP_RANGE_MM);
+            for (long offset : offsets) {
+                best = closer(best, position, up, height + offset);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 边界前后1mm都算作边界, 以米为单位的浮点比较在边界上的结果可能偏向任意一侧
+     */
+    private static long closer(long best, long position, boolean up, long boundary) {
+        for (long candidate = boundary - 1; candidate <= boundary + 1; candidate++) {
+            boolean ahead = up ? candidate > position : candidate < position;
+            if (!ahead) continue;
+            if (best == NO_BOUNDARY || (up ? candidate < best : candidate > best)) best = candidate;
+        }
+        return best;
+    }
+}
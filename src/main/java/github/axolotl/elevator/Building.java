@@ -1,15 +1,30 @@
 package github.axolotl.elevator;
 
 import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.algorithm.GroupController;
+import github.axolotl.elevator.motion.ConstantSpeedProfile;
+import github.axolotl.elevator.motion.MotionProfile;
 import github.axolotl.event.ElevatorEvent;
 import github.axolotl.event.EventRecoder;
 import github.axolotl.event.EventType;
 import github.axolotl.event.PassengerEvent;
+import github.axolotl.metrics.SimulationMetrics;
+import github.axolotl.passenger.ArrivalSchedule;
 import github.axolotl.passenger.Passenger;
 import github.axolotl.passenger.PassengerGenerator;
+import github.axolotl.passenger.PassengerStore;
+import github.axolotl.util.FloorBitmap;
+import github.axolotl.util.SplitMixRandom;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
+import java.util.random.RandomGenerator.SplittableGenerator;
 
 /**
  * @author AxolotlXM
@@ -18,45 +33,121 @@ import java.util.*;
  */
 @Data
 public class Building {
+    public static final double STOP_RANGE = 0.3;//距离楼层不超过该值(m)即可停靠
+    public static final long STOP_RANGE_MM = 300;//STOP_RANGE(mm)
     private long duration;//模拟时长
     private final int floors;
     private final double floorHeight; // 层高(m)
+    private final long floorHeightMm; // 层高(mm), 电梯的位置以mm为单位
     private final List<Elevator> elevators = new ArrayList<>();
     private int elevatorsCount = 0;//计数电梯数量并且编号
+    private final PassengerStore passengerStore = new PassengerStore();//所有呼叫过电梯的乘客的数据, 按编号保存
     private long currentTime = 0;//当前的模拟时间
-    private List<Passenger> waitingPassengers = new ArrayList<>();//在外等待的请求
+    private final HallCallIndex hallCalls;//在外等待的请求, 按楼层和方向索引
     private long interval;//每tick模拟的时长
     private List<PassengerGenerator> passengerGenerators = new ArrayList<>();//生成器
     private EventRecoder eventRecoder;
+    private SplittableGenerator random;//模拟的随机数流, 为null时不固定随机种子
+    private GroupController groupController;//群控, 为null时每部电梯都处理所有请求
+    private SimulationMetrics metrics;//运行指标, 为null时不记录
+    @Getter(AccessLevel.NONE)
+    private final List<Passenger> moveList = new ArrayList<>();//群控重新分配时移动的乘客, 复用
 
 
     public Building(long duration, int floors, double floorHeight, long interval, EventRecoder eventRecoder) {
         this.duration = duration;
         this.floors = floors;
         this.floorHeight = floorHeight;
+        this.floorHeightMm = Math.round(floorHeight * 1000);
         this.interval = interval;
         this.eventRecoder = eventRecoder;
+        this.hallCalls = new HallCallIndex(floors);
+    }
+
+    /**
+     * 在外等待的请求, 按呼叫顺序排列的只读视图
+     */
+    public List<Passenger> getWaitingPassengers() {
+        return hallCalls.view();
+    }
+
+    /**
+     * 楼层地面的高度(mm)
+     *
+     * @param floor 楼层, 从1开始
+     */
+    public long floorPosition(int floor) {
+        return (floor - 1) * floorHeightMm;
+    }
+
+    /**
+     * 设置运行指标, 之后的模拟记录每一步、电梯tick、乘客到达和调度算法的耗时
+     *
+     * @param metrics 运行指标, 为null时不记录, 热路径上只剩一次null判断
+     */
+    public void setMetrics(SimulationMetrics metrics) {
+        this.metrics = metrics;
+        if (metrics != null) metrics.bind(this);
     }
 
     /**
      * 开始模拟
+     * 热路径上不使用lambda和迭代器, 空闲的tick不分配任何对象
      */
     public void startSimulation() {
+        ArrivalSchedule arrivals = new ArrivalSchedule(this);
+        if (metrics != null) metrics.runStarted();
         while (currentTime <= duration) {
-            passengerGenerators.forEach(passengerGenerators -> passengerGenerators.tick(this));
-
-            elevators.forEach(elevator -> elevator.schedulingAlgorithm.doLogic(this, elevator));//逻辑判断
+            long stepStart = metrics == null ? 0 : System.nanoTime();
+            if (arrivals.nextTime() <= currentTime) releaseArrivals(arrivals);//没有到期的乘客时不检查任何规则
 
-            for (int i = 0; i < 1; i++) {
-                elevators.forEach(Elevator::doTick);
-                currentTime += interval;//运行
-
-                elevators.forEach(elevator -> elevator.passengers.forEach(passenger -> passenger.addArriveTime(interval)));//乘坐时间
-                waitingPassengers.forEach(waitingPassengers -> waitingPassengers.addWaitingTime(interval));//等待电梯时间
+            for (int i = 0; i < elevators.size(); i++) {
+                Elevator elevator = elevators.get(i);
+                dispatch(elevator);//逻辑判断
             }
 
+            for (int i = 0; i < elevators.size(); i++) {
+                elevators.get(i).doTick();
+            }
+            currentTime += interval;//运行
+            if (metrics != null) metrics.recordStep(System.nanoTime() - stepStart);
         }
+        if (metrics != null) metrics.runFinished();
+    }
+
+    /**
+     * 生成所有到期的乘客, 记录耗时(包括调度算法处理这些呼叫的耗时)
+     *
+     * @return 到达的乘客数量
+     */
+    int releaseArrivals(ArrivalSchedule arrivals) {
+        if (metrics == null) return arrivals.release(this);
+        long start = System.nanoTime();
+        int released = arrivals.release(this);
+        metrics.recordArrivals(System.nanoTime() - start);
+        return released;
+    }
 
+    /**
+     * 以离散事件方式开始模拟
+     * 不再按固定interval推进, 而是直接跳到下一个事件(乘客到达/电梯到达楼层/关门)
+     *
+     * @see DiscreteEventEngine
+     */
+    public void startEventSimulation() {
+        new DiscreteEventEngine(this).run();
+    }
+
+    /**
+     * 以自适应步长开始模拟
+     * 结果与interval为fineInterval的 {@link #startSimulation()} 相同, 但电梯空闲或在两层之间运行时
+     * 每步推进interval, 只在接近停靠和开关门时缩短到fineInterval
+     *
+     * @param fineInterval 细步长(ms)
+     * @see AdaptiveStepEngine
+     */
+    public void startAdaptiveSimulation(long fineInterval) {
+        new AdaptiveStepEngine(this, fineInterval).run();
     }
 
     /**
@@ -65,12 +156,90 @@ public class Building {
      * @param elevator 电梯
      */
     public void addElevator(Elevator elevator) {
+        if (groupController != null) elevator.assignedCalls = new HallCallIndex(floors);
+        elevator.setIndex(elevators.size());
         elevator.setId("#" + ++elevatorsCount);
         elevators.add(elevator);
     }
 
     public void addPassengerGenerators(PassengerGenerator passengerGenerator) {
         passengerGenerators.add(passengerGenerator);
+        if (random != null) passengerGenerator.seed(random.split());
+    }
+
+    /**
+     * 固定这次模拟的随机种子
+     * 种子按添加顺序拆分给每个生成器, 再拆分给生成器中的每个规则, 每个规则都有独立的随机数流,
+     * 所以同样的种子得到完全相同的乘客, 与同时运行多少个模拟无关。需要在模拟开始前调用。
+     *
+     * @param seed 随机种子
+     */
+    public void seed(long seed) {
+        seed(new SplitMixRandom(seed));
+    }
+
+    /**
+     * 用指定的随机数流代替种子, 例如对偶变量法使用的 {@link github.axolotl.util.AntitheticRandom}
+     *
+     * @param random 只属于这次模拟的随机数流
+     */
+    public void seed(SplittableGenerator random) {
+        this.random = random;
+        for (PassengerGenerator passengerGenerator : passengerGenerators) {
+            passengerGenerator.seed(random.split());
+        }
+    }
+
+    /**
+     * 设置群控
+     * 设置后每个厅外呼叫只分配给一部电梯, 每部电梯的调度算法只看到分配给它的请求,
+     * 只为分配给它的乘客和顺路的乘客停车, 停车后这一层的乘客都可以进入。需要在乘客到达前设置。
+     *
+     * @param groupController 群控, 为null时恢复为每部电梯都处理所有请求
+     */
+    public void setGroupController(GroupController groupController) {
+        if (!hallCalls.isEmpty()) throw new IllegalStateException("需要在乘客到达前设置群控");
+        this.groupController = groupController;
+        for (Elevator elevator : elevators) {
+            elevator.assignedCalls = groupController == null ? hallCalls : new HallCallIndex(floors);
+        }
+    }
+
+    /**
+     * 运行一部电梯的调度算法, 群控时再让没有任务的电梯前往停靠楼层
+     */
+    void dispatch(Elevator elevator) {
+        if (metrics == null) {
+            elevator.schedulingAlgorithm.doLogic(this, elevator);
+        } else {
+            long start = System.nanoTime();
+            elevator.schedulingAlgorithm.doLogic(this, elevator);
+            metrics.algorithm(elevator.schedulingAlgorithm).recordDoLogic(System.nanoTime() - start);
+        }
+        if (groupController == null || elevator.direction == Direction.WAIT) return;
+        if (!elevator.cabin.isEmpty() || !elevator.assignedCalls.isEmpty()) return;
+
+        int floor = groupController.parkingFloor(this, elevator);
+        if (floor < 1) return;
+        long height = floorPosition(floor);
+        if (Math.abs(height - elevator.position) <= STOP_RANGE_MM) elevator.direction = Direction.IDLE;
+        else elevator.direction = height > elevator.position ? Direction.UP : Direction.DOWN;
+    }
+
+    /**
+     * 群控时把乘客交给一部电梯负责
+     */
+    void assignCall(Elevator elevator, Passenger passenger) {
+        elevator.assignedCalls.add(passenger);
+        passenger.setAssignedElevator(elevator.index);
+    }
+
+    /**
+     * 群控时把已经进入电梯的乘客从负责它的电梯中移除
+     */
+    private void unassign(Passenger passenger) {
+        elevators.get(passenger.getAssignedElevator()).assignedCalls.remove(passenger);
+        passenger.setAssignedElevator(-1);
     }
 
     /**
@@ -79,27 +248,115 @@ public class Building {
      * @param passenger 外部乘客
      */
     public void passengerCall(Passenger passenger) {
-        eventRecoder.addEvent(new PassengerEvent(EventType.PassengerCall, passenger));
-        waitingPassengers.add(passenger);
-        elevators.forEach(elevator -> elevator.schedulingAlgorithm.passengerCall(this, elevator, passenger));
+        passenger.call(passengerStore, currentTime);
+        eventRecoder.addEvent(new PassengerEvent(EventType.PassengerCall, passenger, currentTime));
+        hallCalls.add(passenger);
+        if (groupController == null) {
+            for (int i = 0; i < elevators.size(); i++) {
+                notifyCall(elevators.get(i), passenger);
+            }
+        } else {
+            Elevator elevator = groupController.assign(this, passenger);
+            assignCall(elevator, passenger);
+            notifyCall(elevator, passenger);
+            reassignWaitingPassengers(elevator, Direction.UP);
+            reassignWaitingPassengers(elevator, Direction.DOWN);
+        }
+        if (metrics != null) metrics.recordPassengerCall(hallCalls.size());
+    }
+
+    /**
+     * 把呼叫交给电梯的调度算法
+     */
+    private void notifyCall(Elevator elevator, Passenger passenger) {
+        if (metrics == null) {
+            elevator.schedulingAlgorithm.passengerCall(this, elevator, passenger);
+            return;
+        }
+        long start = System.nanoTime();
+        elevator.schedulingAlgorithm.passengerCall(this, elevator, passenger);
+        metrics.algorithm(elevator.schedulingAlgorithm).recordPassengerCall(System.nanoTime() - start);
+    }
+
+    /**
+     * 群控时新的呼叫分配给了owner, 重新评估owner负责的某个方向的乘客, 已经不是最合适的分配交给新的电梯
+     * 只有owner的代价因为这次呼叫改变, 其他电梯负责的乘客不需要重新评估。
+     * 同一层同一方向的乘客按组评估和移动, 每次呼叫的计算量只与楼层数和电梯数量有关, 与等待的乘客数量无关。
+     */
+    private void reassignWaitingPassengers(Elevator owner, Direction direction) {
+        FloorBitmap calls = owner.assignedCalls.getCalls(direction);
+        for (int floor = calls.nextSetBit(1); floor >= 0; floor = calls.nextSetBit(floor + 1)) {
+            Elevator best = groupController.reassign(this, owner, floor, direction);
+            if (best == owner) continue;
+
+            owner.assignedCalls.drainFloor(floor, direction, moveList);
+            for (int i = 0; i < moveList.size(); i++) {
+                assignCall(best, moveList.get(i));
+                notifyCall(best, moveList.get(i));
+            }
+            moveList.clear();
+        }
     }
 
+    /**
+     * 电梯
+     * 位置以mm为单位的整数表示, 每一段运行从静止出发, 位置由出发点和出发后经过的时间按 {@link MotionProfile} 直接算出,
+     * 不随tick累加误差, 任意步长推进同样的时间得到同样的位置。运行方向改变时从当前位置重新出发。
+     * <p>
+     * 匀速电梯进入楼层的停靠范围即可停靠; 一次推进走过的距离超过停靠范围的宽度时, 整个跳过的需要停靠的楼层不会被越过,
+     * 电梯停在这一层。有加减速的电梯在经过每层的减速点时决定是否停在那一层, 决定后按停靠运行精确停在楼层上,
+     * 运行途中不能停靠; 运行到顶层或底层时总是停下。
+     */
     @Data
     public class Elevator {
         private String id;
-        private final double speed; // 速度 m/s
-        private double currentFloor;//当前位置
+        private int index;//在building.elevators中的下标
+        private final MotionProfile motion;//运动学模型
+        private final double speed; // 最高速度 m/s
+        @Setter(AccessLevel.NONE)
+        private long position;//当前位置(mm), 从一楼地面算起
         private Direction direction;//现在运行方向
-        private List<Passenger> passengers = new ArrayList<>();//电梯内的乘客
-        private List<Passenger> joinList = new ArrayList<>();//存放有多少乘客进入电梯
-        private List<Passenger> outList = new ArrayList<>();//存放有多少乘客出电梯
+        private final CabinIndex cabin = new CabinIndex(floors);//电梯内的乘客, 按目标楼层索引
+        @Setter(AccessLevel.NONE)
+        private HallCallIndex assignedCalls = hallCalls;//这部电梯负责的请求, 没有群控时与建筑共用
+        private final List<Passenger> joinList = new ArrayList<>();//存放有多少乘客进入电梯, 每次tick复用
+        private final List<Passenger> outList = new ArrayList<>();//存放有多少乘客出电梯, 每次tick复用
         private ElevatorSchedulingAlgorithm schedulingAlgorithm;
         private int openDoorTime = 0;//开关门时长
         private boolean isOpenDoor = false;//这一次tick是否开门
 
+        //当前这一段运行的状态
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private Direction motionDirection;//这一段运行的方向, 静止时与direction相同
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private long motionOrigin;//出发的位置(mm)
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private long motionElapsed;//出发后经过的时间(ms)
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private int nextCheckFloor = -1;//前方下一个还没有经过减速点的楼层, 没有时为-1
+        @Setter(AccessLevel.NONE)
+        private int stopFloor = -1;//这一段运行决定停靠的楼层, 没有决定时为-1
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private long stopDistance;//出发点到停靠楼层的距离(mm)
+
+        /**
+         * 匀速运行的电梯
+         *
+         * @param speed 速度(m/s)
+         */
         public Elevator(double speed) {
-            this.speed = speed;
-            this.currentFloor = 0;
+            this(new ConstantSpeedProfile(speed));
+        }
+
+        public Elevator(MotionProfile motion) {
+            this.motion = motion;
+            this.speed = motion.getSpeed();
+            this.position = 0;
             this.direction = Direction.IDLE;
         }
 
@@ -107,43 +364,258 @@ public class Building {
         public String toString() {
             return "Elevator{" +
                     "id='" + id + '\'' +
-                    ", currentFloor=" + currentFloor +
-                    ", passengers=" + passengers +
+                    ", currentFloor=" + getCurrentFloor() +
+                    ", passengers=" + getPassengers() +
                     ", direction=" + direction +
                     '}';
         }
 
+        /**
+         * 当前位置(m)
+         */
+        public double getCurrentFloor() {
+            return position / 1000.0;
+        }
+
+        /**
+         * 把电梯放到指定位置(m), 之后从静止重新出发
+         */
+        public void setCurrentFloor(double currentFloor) {
+            this.position = Math.round(currentFloor * 1000);
+            this.motionDirection = null;
+        }
+
         /**
          * 运行一次tick
          */
         public void doTick() {
 //            System.out.println(this);
-            switch (direction) {
-                case IDLE -> {
-                    //do nothing
-                }
-                case UP -> {
-                    // 优化速度计算，确保计算顺序正确
-                    currentFloor += speed * (interval / 1000.0);
-                    if (currentFloor >= (floors - 1) * floorHeight) {
-                        currentFloor = (floors - 1) * floorHeight;//不超楼高
-                    }
-                }
-                case DOWN -> {
-                    // 优化速度计算，确保计算顺序正确
-                    currentFloor -= speed * (interval / 1000.0);
-                    if (currentFloor <= 0) {
-                        currentFloor = 0;//不要太低（-1楼等 映射为0层开始）
-                    }
-                }
-                case WAIT -> {
-                    openDoorTime -= (int) interval;
-                    if (openDoorTime <= 0)//乘客进入完毕
-                        direction = Direction.IDLE;
+            long start = metrics == null ? 0 : System.nanoTime();
+            advance(interval);
+
+            // 检查乘客进出电梯 - 放宽判断条件，使用0.3作为判断阈值
+            handleStop();
+            if (metrics != null) metrics.recordElevatorTick(System.nanoTime() - start);
+        }
+
+        /**
+         * 按当前状态推进一段时间: 移动电梯或消耗开关门时长
+         *
+         * @param time 推进的时长(ms)
+         */
+        void advance(long time) {
+            syncMotion();
+            if (movingDirection() != Direction.IDLE) {
+                move(time);
+            } else if (direction == Direction.WAIT) {
+                openDoorTime -= (int) time;
+                if (openDoorTime <= 0)//乘客进入完毕
+                    direction = Direction.IDLE;
+            }
+        }
+
+        /**
+         * 沿这一段运行的方向运行一段时间
+         */
+        private void move(long time) {
+            //有加减速的电梯出发前本层就有需要停靠的乘客时先不出发, 留在本层开门
+            if (motionElapsed == 0 && !motion.isConstantSpeed()) {
+                int floor = nearestFloor();
+                if (position == floorPosition(floor) && wantsToStop(floor)) return;
+            }
+
+            long previous = position;
+            motionElapsed += time;
+            if (stopFloor < 0 && !motion.isConstantSpeed()) commitAtBrakePoints();
+
+            long travelled = stopFloor > 0 ? motion.runDistance(stopDistance, motionElapsed) : motion.freeDistance(motionElapsed);
+            position = motionDirection == Direction.UP ? Math.min(motionOrigin + travelled, floorPosition(floors))
+                    : Math.max(motionOrigin - travelled, 0);
+
+            if (stopFloor < 0 && motion.isConstantSpeed()) commitSkippedFloor(previous);
+        }
+
+        /**
+         * 让这一段运行与调度给出的方向一致
+         * 匀速电梯方向改变时立即从当前位置重新出发或停下; 有加减速的电梯不能在两层之间停下或掉头,
+         * 方向改变时停在前方最近的能停下的楼层, 停下后再按新的方向出发。
+         */
+        private void syncMotion() {
+            if (!motion.isConstantSpeed() && isRunning() && motionDirection != direction
+                    && (stopFloor > 0 || nextCheckFloor > 0)) {
+                if (stopFloor < 0) commitStop(nextCheckFloor);
+                return;
+            }
+            if (direction != Direction.UP && direction != Direction.DOWN) {
+                motionDirection = direction;
+                return;
+            }
+            if (motionDirection != direction || hasArrived()) startMotion();
+        }
+
+        private void startMotion() {
+            motionDirection = direction;
+            motionOrigin = position;
+            motionElapsed = 0;
+            stopFloor = -1;
+            stopDistance = 0;
+            nextCheckFloor = direction == Direction.UP ? floorAbove() : floorBelow();
+            if (nextCheckFloor < 1 || nextCheckFloor > floors) nextCheckFloor = -1;
+        }
+
+        /**
+         * 是否已经出发并且还没有停在决定停靠的楼层
+         */
+        private boolean isRunning() {
+            return (motionDirection == Direction.UP || motionDirection == Direction.DOWN) && motionElapsed > 0 && !hasArrived();
+        }
+
+        /**
+         * 是否已经停在这一段运行决定停靠的楼层
+         */
+        private boolean hasArrived() {
+            return stopFloor > 0 && motionElapsed >= motion.runTime(stopDistance);
+        }
+
+        private void commitStop(int floor) {
+            stopFloor = floor;
+            stopDistance = Math.abs(floorPosition(floor) - motionOrigin);
+            nextCheckFloor = -1;
+        }
+
+        /**
+         * 依次检查已经经过减速点的楼层, 决定停在第一个需要停靠的楼层
+         */
+        private void commitAtBrakePoints() {
+            while (nextCheckFloor > 0) {
+                long distance = Math.abs(floorPosition(nextCheckFloor) - motionOrigin);
+                if (motion.brakeTime(distance) > motionElapsed) return;
+
+                int following = motionDirection == Direction.UP ? nextCheckFloor + 1 : nextCheckFloor - 1;
+                if (following < 1 || following > floors || wantsToStop(nextCheckFloor)) {
+                    commitStop(nextCheckFloor);
+                    return;
                 }
+                nextCheckFloor = following;
+            }
+        }
+
+        /**
+         * 匀速电梯这一次从previous移动到当前位置时完整跳过了某些楼层的停靠范围,
+         * 其中第一个需要停靠的楼层改为停在楼层上
+         */
+        private void commitSkippedFloor(long previous) {
+            if (Math.abs(position - previous) <= 2 * STOP_RANGE_MM + 1) return;
+            boolean up = motionDirection == Direction.UP;
+            //停靠范围包括两端, 完整跳过的楼层离previous和当前位置都超过STOP_RANGE_MM
+            long from = up ? previous + STOP_RANGE_MM + 1 : previous - STOP_RANGE_MM - 1;
+            long to = up ? position - STOP_RANGE_MM - 1 : position + STOP_RANGE_MM + 1;
+            int first = (int) (up ? -Math.floorDiv(-from, floorHeightMm) : Math.floorDiv(from, floorHeightMm)) + 1;
+            int last = (int) (up ? Math.floorDiv(to, floorHeightMm) : -Math.floorDiv(-to, floorHeightMm)) + 1;
+            for (int floor = first; up ? floor <= last : floor >= last; floor += up ? 1 : -1) {
+                if (floor < 1 || floor > floors || !wantsToStop(floor)) continue;
+                commitStop(floor);
+                position = floorPosition(floor);
+                return;
             }
+        }
 
-            // 检查乘客进出电梯 - 放宽判断条件，使用0.3作为判断阈值
+        /**
+         * 运行中经过floor时是否需要在那里停下
+         */
+        private boolean wantsToStop(int floor) {
+            return cabin.getDestinations().get(floor) || wantsToEnter(floor);
+        }
+
+        /**
+         * floor是否有可以进入这部电梯的乘客
+         */
+        private boolean wantsToEnter(int floor) {
+            if (!hallCalls.hasCalls(floor)) return false;
+            // 群控时只为分配给自己的乘客和顺路的乘客停车, 已经开门时这一层的乘客都可以进来
+            return assignedCalls == hallCalls || assignedCalls.hasCalls(floor) || isOpenDoor || direction == Direction.WAIT
+                    || ((direction == Direction.UP || direction == Direction.DOWN) && hallCalls.hasCalls(floor, direction));
+        }
+
+        /**
+         * 电梯在当前位置能否在floor停靠, 有加减速的电梯在运行途中不能停靠
+         */
+        private boolean canStopAt(int floor) {
+            if (!motion.isConstantSpeed() && isRunning()) return false;
+            return Math.abs(floorPosition(floor) - position) <= STOP_RANGE_MM;
+        }
+
+        /**
+         * 电梯实际运行的方向, 静止时为IDLE
+         * 有加减速的电梯在停下之前可能与调度给出的方向不同
+         */
+        Direction movingDirection() {
+            syncMotion();
+            return motionDirection == Direction.UP || motionDirection == Direction.DOWN ? motionDirection : Direction.IDLE;
+        }
+
+        /**
+         * 沿实际运行的方向继续运行, 位置到达或越过target(mm)还需要的时间(ms), 不会到达时返回Long.MAX_VALUE
+         */
+        long timeToReach(long target) {
+            Direction moving = movingDirection();
+            if (moving == Direction.IDLE) return Long.MAX_VALUE;
+            long distance = moving == Direction.UP ? target - motionOrigin : motionOrigin - target;
+            long time = stopFloor > 0 ? motion.runTime(stopDistance, distance) : motion.freeTime(distance);
+            if (time < 0 || time == Long.MAX_VALUE) return Long.MAX_VALUE;
+            return Math.max(time - motionElapsed, 0);
+        }
+
+        /**
+         * 有加减速的电梯下一次需要做停靠决定的时间(ms): 出发、到达决定停靠的楼层、或者经过下一层的减速点,
+         * 没有时返回Long.MAX_VALUE
+         */
+        long timeToNextDecision() {
+            if (movingDirection() == Direction.IDLE) return Long.MAX_VALUE;
+            if (motion.isConstantSpeed()) return Long.MAX_VALUE;
+            if (motionElapsed == 0) return 0;
+            if (stopFloor > 0) return Math.max(motion.runTime(stopDistance) - motionElapsed, 0);
+            if (nextCheckFloor < 0) return Long.MAX_VALUE;
+            long distance = Math.abs(floorPosition(nextCheckFloor) - motionOrigin);
+            return Math.max(motion.brakeTime(distance) - motionElapsed, 0);
+        }
+
+        /**
+         * 保存位置、方向、开关门和运行状态, 用于 {@link SimulationSnapshot}
+         */
+        void writeState(DataOutput out) throws IOException {
+            out.writeLong(position);
+            out.writeByte(direction.ordinal());
+            out.writeInt(openDoorTime);
+            out.writeBoolean(isOpenDoor);
+            out.writeByte(motionDirection == null ? -1 : motionDirection.ordinal());
+            out.writeLong(motionOrigin);
+            out.writeLong(motionElapsed);
+            out.writeInt(nextCheckFloor);
+            out.writeInt(stopFloor);
+            out.writeLong(stopDistance);
+        }
+
+        void readState(DataInput in) throws IOException {
+            Direction[] directions = Direction.values();
+            position = in.readLong();
+            direction = directions[in.readByte()];
+            openDoorTime = in.readInt();
+            isOpenDoor = in.readBoolean();
+            int saved = in.readByte();
+            motionDirection = saved < 0 ? null : directions[saved];
+            motionOrigin = in.readLong();
+            motionElapsed = in.readLong();
+            nextCheckFloor = in.readInt();
+            stopFloor = in.readInt();
+            stopDistance = in.readLong();
+        }
+
+        /**
+         * 在当前位置检查乘客进出电梯并处理开关门
+         */
+        void handleStop() {
+            syncMotion();
             checkPassengersToExit();
             checkPassengersToEnter();
 
@@ -155,37 +627,33 @@ public class Building {
          * 检查并处理需要出电梯的乘客
          */
         private void checkPassengersToExit() {
-            List<Passenger> passengersToExit = new ArrayList<>();
-            
-            for (Passenger passenger : passengers) {
-                // 放宽判断条件，使用0.3作为判断阈值
-                if (Math.abs(passenger.getTargetFloorHeight(Building.this) - currentFloor) < 0.3) {
-                    passengersToExit.add(passenger);
-                    isOpenDoor = true;
-                }
+            // 停靠范围小于半个层高, 最多只有最近的一层满足条件
+            int floor = nearestFloor();
+            if (!cabin.getDestinations().get(floor)) return;
+
+            if (canStopAt(floor)) {
+                cabin.drainFloor(floor, outList);
+                isOpenDoor = true;
             }
-            
-            outList.addAll(passengersToExit);
         }
 
         /**
          * 检查并处理需要进入电梯的乘客
          */
         private void checkPassengersToEnter() {
-            List<Passenger> passengersToEnter = new ArrayList<>();
-            List<Passenger> passengersToRemove = new ArrayList<>();
-            
-            for (Passenger passenger : waitingPassengers) {
-                // 放宽判断条件，使用0.3作为判断阈值
-                if (Math.abs(passenger.getOriginFloorHeight(Building.this) - currentFloor) < 0.3) {
-                    passengersToEnter.add(passenger);
-                    passengersToRemove.add(passenger);
-                    isOpenDoor = true;
+            // 停靠范围小于半个层高, 最多只有最近的一层满足条件
+            int floor = nearestFloor();
+            if (!wantsToEnter(floor)) return;
+
+            if (canStopAt(floor)) {
+                hallCalls.drainFloor(floor, joinList);
+                if (assignedCalls != hallCalls) {
+                    for (int i = 0; i < joinList.size(); i++) {
+                        unassign(joinList.get(i));
+                    }
                 }
+                isOpenDoor = true;
             }
-            
-            joinList.addAll(passengersToEnter);
-            waitingPassengers.removeAll(passengersToRemove);
         }
 
         /**
@@ -205,10 +673,10 @@ public class Building {
                 // 优化每个乘客出门时间
                 openDoorTime += outList.size() * 300;
                 
-                for (Passenger passenger : outList) {
+                for (int i = 0; i < outList.size(); i++) {
+                    Passenger passenger = outList.get(i);
+                    passenger.finishElevator(currentTime);//先记录时间, 事件的接收者可以直接使用
                     eventRecoder.addEvent(new ElevatorEvent(EventType.PassengerFinishElevator, Building.this, this, passenger));
-                    passenger.finishElevator();
-                    passengers.remove(passenger);
                 }
                 
                 outList.clear();
@@ -219,10 +687,11 @@ public class Building {
                 // 优化每个乘客进门时间
                 openDoorTime += joinList.size() * 300;
                 
-                for (Passenger passenger : joinList) {
+                for (int i = 0; i < joinList.size(); i++) {
+                    Passenger passenger = joinList.get(i);
+                    passenger.finishWait(currentTime);
                     eventRecoder.addEvent(new ElevatorEvent(EventType.PassengerFinishWait, Building.this, this, passenger));
-                    passengers.add(passenger);
-                    passenger.finishWait();
+                    cabin.add(passenger);
                 }
                 
                 joinList.clear();
@@ -233,7 +702,130 @@ public class Building {
          * 获取当前在第几层
          */
         public double getFloorNumber() {
-            return currentFloor / floorHeight;
+            return (double) position / floorHeightMm;
+        }
+
+        /**
+         * 离当前位置最近的楼层(从1开始)
+         */
+        private int nearestFloor() {
+            return (int) ((position + floorHeightMm / 2) / floorHeightMm) + 1;
+        }
+
+        /**
+         * 高于当前位置的最低一层(从1开始), 可能超过顶层
+         */
+        private int floorAbove() {
+            return (int) (position / floorHeightMm) + 2;
+        }
+
+        /**
+         * 低于当前位置的最高一层(从1开始), 在一楼时为0
+         */
+        private int floorBelow() {
+            return (int) ((position + floorHeightMm - 1) / floorHeightMm);
+        }
+
+        /**
+         * 这部电梯负责的在外等待的请求, 按呼叫顺序排列的只读视图
+         * 没有群控时就是 {@link Building#getWaitingPassengers()}
+         */
+        public List<Passenger> getWaitingPassengers() {
+            return assignedCalls.view();
+        }
+
+        /**
+         * 电梯内的乘客, 按进入顺序排列的只读视图
+         */
+        public List<Passenger> getPassengers() {
+            return cabin.view();
+        }
+
+        /**
+         * 电梯内乘客的目标楼层位图(楼层从1开始), 只读
+         */
+        public FloorBitmap getDestinations() {
+            return cabin.getDestinations();
+        }
+
+        /**
+         * 是否有乘客的目标楼层高于电梯当前位置
+         */
+        public boolean hasDestinationAbove() {
+            return cabin.getDestinations().nextSetBit(floorAbove()) >= 0;
+        }
+
+        /**
+         * 是否有乘客的目标楼层低于电梯当前位置
+         */
+        public boolean hasDestinationBelow() {
+            return cabin.getDestinations().previousSetBit(floorBelow()) >= 0;
+        }
+
+        /**
+         * 是否有分配给这部电梯的乘客在高于电梯当前位置的楼层等待
+         */
+        public boolean hasWaitingAbove() {
+            return assignedCalls.getCalls().nextSetBit(floorAbove()) >= 0;
+        }
+
+        /**
+         * 是否有分配给这部电梯的乘客在低于电梯当前位置的楼层等待
+         */
+        public boolean hasWaitingBelow() {
+            return assignedCalls.getCalls().previousSetBit(floorBelow()) >= 0;
+        }
+
+        /**
+         * 是否有分配给这部电梯、要往direction方向去的乘客在高于电梯当前位置的楼层等待
+         */
+        public boolean hasWaitingAbove(Direction direction) {
+            return assignedCalls.getCalls(direction).nextSetBit(floorAbove()) >= 0;
+        }
+
+        /**
+         * 是否有分配给这部电梯、要往direction方向去的乘客在低于电梯当前位置的楼层等待
+         */
+        public boolean hasWaitingBelow(Direction direction) {
+            return assignedCalls.getCalls(direction).previousSetBit(floorBelow()) >= 0;
+        }
+
+        /**
+         * 离当前位置最近的有乘客等待的楼层, 距离相同时取其中最早呼叫的乘客所在的楼层
+         *
+         * @return 楼层(从1开始), 没有乘客等待时返回-1
+         */
+        public int getNearestWaitingFloor() {
+            FloorBitmap calls = assignedCalls.getCalls();
+            int middle = (int) (position / floorHeightMm) + 1;
+            int below = calls.previousSetBit(middle);
+            int above = calls.nextSetBit(middle + 1);
+            if (below < 0) return above;
+            if (above < 0) return below;
+
+            long belowDistance = Math.abs(floorPosition(below) - position);
+            long aboveDistance = Math.abs(floorPosition(above) - position);
+            if (belowDistance != aboveDistance) return belowDistance < aboveDistance ? below : above;
+            return assignedCalls.firstSequence(below) < assignedCalls.firstSequence(above) ? below : above;
+        }
+
+        /**
+         * 电梯内离当前位置最近的目标楼层, 距离相同时取其中最早进入电梯的乘客的目标楼层
+         *
+         * @return 楼层(从1开始), 电梯内没有乘客时返回-1
+         */
+        public int getNearestDestination() {
+            FloorBitmap destinations = cabin.getDestinations();
+            int middle = (int) (position / floorHeightMm) + 1;
+            int below = destinations.previousSetBit(middle);
+            int above = destinations.nextSetBit(middle + 1);
+            if (below < 0) return above;
+            if (above < 0) return below;
+
+            long belowDistance = Math.abs(floorPosition(below) - position);
+            long aboveDistance = Math.abs(floorPosition(above) - position);
+            if (belowDistance != aboveDistance) return belowDistance < aboveDistance ? below : above;
+            return cabin.firstSequence(below) < cabin.firstSequence(above) ? below : above;
         }
     }
 }
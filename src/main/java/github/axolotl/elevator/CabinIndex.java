@@ -0,0 +1,91 @@
+package github.axolotl.elevator;
+
+import github.axolotl.elevator.PassengerLinkedList.Node;
+import github.axolotl.passenger.Passenger;
+import github.axolotl.util.FloorBitmap;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * 电梯内乘客按目标楼层的索引
+ * 每个目标楼层一个队列, 并用位图记录哪些楼层有乘客要下,
+ * 电梯停靠时一次取出这一层的全部乘客。
+ * <p>
+ * 楼层编号与 {@link Passenger#getTargetFloor()} 相同, 从1开始。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/22
+ */
+public class CabinIndex {
+    private final ArrayDeque<Node>[] buckets;
+    private final FloorBitmap destinations;//有乘客要下的楼层
+    private final PassengerLinkedList passengers = new PassengerLinkedList();//按进入顺序排列
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CabinIndex(int floors) {
+        this.buckets = new ArrayDeque[floors + 1];
+        for (int i = 0; i <= floors; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.destinations = new FloorBitmap(floors + 1);
+    }
+
+    /**
+     * 乘客进入电梯
+     */
+    public void add(Passenger passenger) {
+        int floor = passenger.getTargetFloor();
+        buckets[floor].add(passengers.add(passenger));
+        destinations.set(floor);
+    }
+
+    /**
+     * 取出目标为某层的全部乘客, 按进入顺序追加到out中
+     *
+     * @return 取出的乘客数量
+     */
+    public int drainFloor(int floor, List<Passenger> out) {
+        if (!destinations.get(floor)) return 0;
+        ArrayDeque<Node> bucket = buckets[floor];
+        int count = bucket.size();
+        while (!bucket.isEmpty()) {
+            Node node = bucket.pollFirst();
+            passengers.unlink(node);
+            out.add(node.passenger);
+        }
+        destinations.clear(floor);
+        return count;
+    }
+
+    /**
+     * 目标为某层的乘客中最早进入电梯的顺序号, 没有则返回Long.MAX_VALUE
+     */
+    long firstSequence(int floor) {
+        Node node = destinations.get(floor) ? buckets[floor].peekFirst() : null;
+        return node == null ? Long.MAX_VALUE : node.sequence;
+    }
+
+    public int size() {
+        return passengers.size();
+    }
+
+    public boolean isEmpty() {
+        return passengers.size() == 0;
+    }
+
+    /**
+     * 有乘客要下的楼层位图, 只读
+     */
+    public FloorBitmap getDestinations() {
+        return destinations;
+    }
+
+    /**
+     * 按进入顺序排列的只读视图
+     */
+    public List<Passenger> view() {
+        return passengers.view();
+    }
+}
@@ -0,0 +1,207 @@
+package github.axolotl.elevator;
+
+import github.axolotl.elevator.Building.Elevator;
+import github.axolotl.metrics.SimulationMetrics;
+import github.axolotl.passenger.ArrivalSchedule;
+
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 离散事件模拟引擎
+ * 用一个按时间排序的事件队列(乘客到达/电梯到达楼层/关门)代替固定interval的tick循环,
+ * 每次直接跳到下一个事件发生的时间, 电梯空闲时不再产生任何计算。
+ * <p>
+ * 调度算法和乘客生成规则的接口保持不变: 每个事件发生后, 先处理到期的乘客生成,
+ * 再检查乘客进出电梯, 最后对每部电梯调用一次 doLogic。
+ * <p>
+ * 停靠判定与tick模拟相同: 匀速电梯进入楼层 {@link Building#STOP_RANGE} 范围时产生"到达楼层"事件,
+ * 有加减速的电梯在经过下一层的减速点和到达决定停靠的楼层时产生事件, 时间由运动学模型精确算出。
+ * 与tick模拟的误差: tick模拟把时间量化为interval, 只能在进入停靠范围后的第一个tick发现停靠,
+ * 因此每一次停靠的时刻最多相差一个interval。停靠范围包括两端, 事件安排在电梯到达范围边界的时刻,
+ * 边界落在tick的网格上时(例如1m/s、3m层高、100ms)tick模拟在同一时刻发现停靠。
+ * <p>
+ * 只按呼叫顺序决策的算法(FCFS)每次停靠的误差不会累积, 乘客的等待时间和乘梯时间的平均值在这个量级内与tick模拟一致。
+ * 决策取决于请求到达时电梯位置的算法(LOOK等)可能因为这一点时间差在某一次做出不同的选择, 之后两边沿着不同但同样合理的轨迹运行,
+ * 平均值仍然接近。默认的100ms步长下, 固定时间表和随机到达时两者的平均值都相差在0.1秒以内。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/20
+ */
+public class DiscreteEventEngine {
+    private final Building building;
+    private final PriorityQueue<SimulationEvent> queue = new PriorityQueue<>();
+    private final long[] versions;//每部电梯当前有效事件的版本号, 旧版本的事件直接丢弃
+    private final SimulationEvent[] scheduled;//每部电梯当前有效的事件
+    private ArrivalSchedule arrivals;//所有规则合并的到达时间表, 在run开始时建立
+    private SimulationMetrics metrics;//运行指标, 为null时不记录
+    private final long[] advanceNanos;//记录指标时每部电梯这一步推进的耗时, 与停靠检查的耗时合并记录
+
+    public DiscreteEventEngine(Building building) {
+        this.building = building;
+        int count = building.getElevators().size();
+        this.versions = new long[count];
+        this.scheduled = new SimulationEvent[count];
+        this.advanceNanos = new long[count];
+    }
+
+    /**
+     * 运行模拟直到duration
+     */
+    public void run() {
+        List<Elevator> elevators = building.getElevators();
+        arrivals = new ArrivalSchedule(building);
+        scheduleArrival();
+        for (int i = 0; i < elevators.size(); i++) {
+            scheduleElevator(i);
+        }
+        metrics = building.getMetrics();
+        if (metrics != null) metrics.runStarted();
+
+        while (!queue.isEmpty()) {
+            SimulationEvent event = queue.poll();
+            if (event.time() > building.getDuration()) break;
+            if (event.type() != SimulationEventType.PASSENGER_ARRIVAL
+                    && event.version() != versions[event.elevatorIndex()]) continue;//已过期
+
+            long stepStart = metrics == null ? 0 : System.nanoTime();
+            advanceTo(event.time());
+
+            switch (event.type()) {
+                case PASSENGER_ARRIVAL -> {
+                    building.releaseArrivals(arrivals);
+                    scheduleArrival();
+                }
+                case FLOOR_REACHED, DOOR_CLOSED -> {
+                    //电梯已在advance中移动到停靠范围内或恢复为IDLE, 统一在下面处理
+                }
+            }
+
+            for (int i = 0; i < elevators.size(); i++) {
+                if (metrics == null) {
+                    elevators.get(i).handleStop();
+                } else {
+                    long start = System.nanoTime();
+                    elevators.get(i).handleStop();
+                    metrics.recordElevatorTick(advanceNanos[i] + System.nanoTime() - start);
+                    advanceNanos[i] = 0;
+                }
+            }
+            for (Elevator elevator : elevators) {
+                building.dispatch(elevator);
+            }
+            for (int i = 0; i < elevators.size(); i++) {
+                scheduleElevator(i);
+            }
+            if (metrics != null) metrics.recordStep(System.nanoTime() - stepStart);
+        }
+
+        advanceTo(building.getDuration());
+        if (metrics != null) metrics.runFinished();
+    }
+
+    /**
+     * 推进到指定时间并移动电梯
+     */
+    private void advanceTo(long time) {
+        long elapsed = time - building.getCurrentTime();
+        if (elapsed <= 0) return;
+
+        List<Elevator> elevators = building.getElevators();
+        for (int i = 0; i < elevators.size(); i++) {
+            if (metrics == null) {
+                elevators.get(i).advance(elapsed);
+            } else {
+                long start = System.nanoTime();
+                elevators.get(i).advance(elapsed);
+                advanceNanos[i] = System.nanoTime() - start;
+            }
+        }
+        building.setCurrentTime(time);
+    }
+
+    /**
+     * 安排下一次乘客到达事件
+     */
+    private void scheduleArrival() {
+        long next = arrivals.nextTime();
+        if (next != Long.MAX_VALUE) {
+            queue.add(new SimulationEvent(next, SimulationEventType.PASSENGER_ARRIVAL, -1, -1, 0));
+        }
+    }
+
+    /**
+     * 根据电梯当前状态重新安排它的下一个事件, 状态没有变化时保留原事件
+     */
+    private void scheduleElevator(int index) {
+        Elevator elevator = building.getElevators().get(index);
+        long currentTime = building.getCurrentTime();
+        SimulationEvent next = null;
+
+        Direction moving = elevator.movingDirection();
+        if (moving != Direction.IDLE) {
+            int floor = nextFloor(elevator, moving);
+            long travelTime = elevator.timeToNextDecision();
+            if (floor >= 0 && elevator.getMotion().isConstantSpeed()) {
+                long height = floor * building.getFloorHeightMm();
+                long entry = moving == Direction.UP ? height - Building.STOP_RANGE_MM : height + Building.STOP_RANGE_MM;
+                travelTime = Math.min(travelTime, elevator.timeToReach(entry));
+            }
+            if (travelTime != Long.MAX_VALUE) {
+                //至少推进1ms, 让电梯离开当前状态
+                next = new SimulationEvent(currentTime + Math.max(travelTime, 1), SimulationEventType.FLOOR_REACHED,
+                        index, 0, floor);
+            }
+        } else if (elevator.getDirection() == Direction.WAIT) {
+            next = new SimulationEvent(currentTime + Math.max(elevator.getOpenDoorTime(), 0),
+                    SimulationEventType.DOOR_CLOSED, index, 0, 0);
+        }
+        //空闲电梯只会被乘客到达事件唤醒
+
+        SimulationEvent current = scheduled[index];
+        if (next == null) {
+            if (current != null) {
+                versions[index]++;
+                scheduled[index] = null;
+            }
+            return;
+        }
+        if (current != null && current.time() == next.time() && current.type() == next.type()
+                && current.floor() == next.floor()) return;
+
+        next = new SimulationEvent(next.time(), next.type(), index, ++versions[index], next.floor());
+        scheduled[index] = next;
+        queue.add(next);
+    }
+
+    /**
+     * 电梯沿实际运行方向将要进入停靠范围的下一个楼层(从0开始), 没有则返回-1
+     * 已经处于某个楼层的停靠范围内时, 返回它前方的下一个楼层
+     */
+    private int nextFloor(Elevator elevator, Direction moving) {
+        long floorHeight = building.getFloorHeightMm();
+        long position = elevator.getPosition();
+        if (moving == Direction.UP) {
+            int floor = (int) ((position + Building.STOP_RANGE_MM) / floorHeight) + 1;
+            return floor <= building.getFloors() - 1 ? floor : -1;
+        } else {
+            return (int) Math.floorDiv(position - Building.STOP_RANGE_MM - 1, floorHeight);
+        }
+    }
+
+    private enum SimulationEventType {
+        PASSENGER_ARRIVAL,//乘客到达
+        FLOOR_REACHED,//电梯到达楼层
+        DOOR_CLOSED//关门
+    }
+
+    private record SimulationEvent(long time, SimulationEventType type, int elevatorIndex, long version, int floor)
+            implements Comparable<SimulationEvent> {
+        @Override
+        public int compareTo(SimulationEvent o) {
+            int result = Long.compare(time, o.time);
+            return result != 0 ? result : type.compareTo(o.type);
+        }
+    }
+}
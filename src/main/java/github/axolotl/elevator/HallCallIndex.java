@@ -0,0 +1,248 @@
+package github.axolotl.elevator;
+
+import github.axolotl.elevator.PassengerLinkedList.Node;
+import github.axolotl.passenger.Passenger;
+import github.axolotl.util.FloorBitmap;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 在外等待的请求(厅外呼叫)索引
+ * 按楼层和方向分别排队, 并用位图记录哪些楼层有人等待,
+ * 电梯在某层停靠时只需要处理这一层的队列。
+ * 同时用 {@link PassengerLinkedList} 保存所有等待乘客的呼叫顺序, 对外提供只读的列表视图。
+ * <p>
+ * 楼层编号与 {@link Passenger#getOriginFloor()} 相同, 从1开始。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/21
+ */
+public class HallCallIndex {
+    private final ArrayDeque<Node>[] upQueues;
+    private final ArrayDeque<Node>[] downQueues;
+    private final FloorBitmap upCalls;//有向上请求的楼层
+    private final FloorBitmap downCalls;//有向下请求的楼层
+    private final FloorBitmap calls;//有任意请求的楼层
+    private final PassengerLinkedList passengers = new PassengerLinkedList();//按呼叫顺序排列
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HallCallIndex(int floors) {
+        this.upQueues = new ArrayDeque[floors + 1];
+        this.downQueues = new ArrayDeque[floors + 1];
+        for (int i = 0; i <= floors; i++) {
+            upQueues[i] = new ArrayDeque<>();
+            downQueues[i] = new ArrayDeque<>();
+        }
+        this.upCalls = new FloorBitmap(floors + 1);
+        this.downCalls = new FloorBitmap(floors + 1);
+        this.calls = new FloorBitmap(floors + 1);
+    }
+
+    /**
+     * 添加一个等待的乘客
+     */
+    public void add(Passenger passenger) {
+        Node node = passengers.add(passenger);
+        int floor = passenger.getOriginFloor();
+        if (passenger.getDirection() == Direction.UP) {
+            upQueues[floor].add(node);
+            upCalls.set(floor);
+        } else {
+            downQueues[floor].add(node);
+            downCalls.set(floor);
+        }
+        calls.set(floor);
+    }
+
+    /**
+     * 取出某层所有等待的乘客(不分方向), 按呼叫顺序追加到out中
+     *
+     * @return 取出的乘客数量
+     */
+    public int drainFloor(int floor, List<Passenger> out) {
+        if (!calls.get(floor)) return 0;
+        ArrayDeque<Node> up = upQueues[floor];
+        ArrayDeque<Node> down = downQueues[floor];
+        int count = up.size() + down.size();
+
+        //两个方向的队列各自有序, 按呼叫顺序归并
+        while (!up.isEmpty() || !down.isEmpty()) {
+            Node node;
+            if (down.isEmpty() || (!up.isEmpty() && up.peekFirst().sequence < down.peekFirst().sequence)) {
+                node = up.pollFirst();
+            } else {
+                node = down.pollFirst();
+            }
+            passengers.unlink(node);
+            out.add(node.passenger);
+        }
+
+        upCalls.clear(floor);
+        downCalls.clear(floor);
+        calls.clear(floor);
+        return count;
+    }
+
+    /**
+     * 取出某层指定方向所有等待的乘客, 按呼叫顺序追加到out中
+     *
+     * @return 取出的乘客数量
+     */
+    public int drainFloor(int floor, Direction direction, List<Passenger> out) {
+        boolean up = direction == Direction.UP;
+        ArrayDeque<Node> queue = up ? upQueues[floor] : downQueues[floor];
+        int count = queue.size();
+        while (!queue.isEmpty()) {
+            Node node = queue.pollFirst();
+            passengers.unlink(node);
+            out.add(node.passenger);
+        }
+
+        (up ? upCalls : downCalls).clear(floor);
+        if (upQueues[floor].isEmpty() && downQueues[floor].isEmpty()) calls.clear(floor);
+        return count;
+    }
+
+    /**
+     * 移除一个等待的乘客, 只需要查找乘客所在楼层和方向的队列
+     *
+     * @return 乘客是否在索引中
+     */
+    public boolean remove(Passenger passenger) {
+        int floor = passenger.getOriginFloor();
+        boolean up = passenger.getDirection() == Direction.UP;
+        ArrayDeque<Node> queue = up ? upQueues[floor] : downQueues[floor];
+
+        Iterator<Node> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Node node = iterator.next();
+            if (node.passenger != passenger) continue;
+
+            iterator.remove();
+            passengers.unlink(node);
+            if (queue.isEmpty()) {
+                (up ? upCalls : downCalls).clear(floor);
+                if (upQueues[floor].isEmpty() && downQueues[floor].isEmpty()) calls.clear(floor);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 某层所有等待的乘客中最早呼叫的顺序号, 没有则返回Long.MAX_VALUE
+     */
+    public long firstSequence(int floor) {
+        return Math.min(firstSequence(floor, Direction.UP), firstSequence(floor, Direction.DOWN));
+    }
+
+    /**
+     * 某层最早呼叫的乘客(不分方向), 没有则返回null
+     */
+    public Passenger first(int floor) {
+        if (!hasCalls(floor)) return null;
+        Node up = upQueues[floor].peekFirst();
+        Node down = downQueues[floor].peekFirst();
+        if (up == null) return down.passenger;
+        if (down == null) return up.passenger;
+        return up.sequence < down.sequence ? up.passenger : down.passenger;
+    }
+
+    /**
+     * 某层指定方向的乘客中最早呼叫的顺序号, 没有则返回Long.MAX_VALUE
+     * 顺序号只用于比较同一个索引中乘客的呼叫先后
+     */
+    public long firstSequence(int floor, Direction direction) {
+        if (!hasCalls(floor, direction)) return Long.MAX_VALUE;
+        Node node = (direction == Direction.UP ? upQueues : downQueues)[floor].peekFirst();
+        return node == null ? Long.MAX_VALUE : node.sequence;
+    }
+
+    public int size() {
+        return passengers.size();
+    }
+
+    /**
+     * 某层等待的乘客数量(不分方向)
+     */
+    public int count(int floor) {
+        return upQueues[floor].size() + downQueues[floor].size();
+    }
+
+    /**
+     * 某层指定方向等待的乘客数量
+     */
+    public int count(int floor, Direction direction) {
+        return (direction == Direction.UP ? upQueues : downQueues)[floor].size();
+    }
+
+    public boolean isEmpty() {
+        return passengers.size() == 0;
+    }
+
+    /**
+     * 某层是否有人等待
+     */
+    public boolean hasCalls(int floor) {
+        return calls.get(floor);
+    }
+
+    /**
+     * 某层是否有指定方向的请求
+     */
+    public boolean hasCalls(int floor, Direction direction) {
+        return getCalls(direction).get(floor);
+    }
+
+    /**
+     * 严格高于floor的楼层是否有人等待
+     */
+    public boolean hasCallsAbove(int floor) {
+        return calls.anyAbove(floor);
+    }
+
+    /**
+     * 严格低于floor的楼层是否有人等待
+     */
+    public boolean hasCallsBelow(int floor) {
+        return calls.anyBelow(floor);
+    }
+
+    /**
+     * 严格高于floor的楼层是否有指定方向的请求
+     */
+    public boolean hasCallsAbove(int floor, Direction direction) {
+        return getCalls(direction).anyAbove(floor);
+    }
+
+    /**
+     * 严格低于floor的楼层是否有指定方向的请求
+     */
+    public boolean hasCallsBelow(int floor, Direction direction) {
+        return getCalls(direction).anyBelow(floor);
+    }
+
+    /**
+     * 有人等待的楼层位图, 只读
+     */
+    public FloorBitmap getCalls() {
+        return calls;
+    }
+
+    /**
+     * 有指定方向请求的楼层位图, 只读
+     */
+    public FloorBitmap getCalls(Direction direction) {
+        return direction == Direction.UP ? upCalls : downCalls;
+    }
+
+    /**
+     * 按呼叫顺序排列的只读视图
+     */
+    public List<Passenger> view() {
+        return passengers.view();
+    }
+}
@@ -0,0 +1,108 @@
+package github.axolotl.elevator;
+
+import github.axolotl.passenger.Passenger;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 按加入顺序保存乘客的双向链表
+ * 节点由各个楼层索引持有, 可以O(1)删除任意乘客, 同时对外提供只读的列表视图
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/21
+ */
+class PassengerLinkedList {
+    private final List<Passenger> view = new View();
+    private Node head;//最早加入的乘客
+    private Node tail;//最后加入的乘客
+    private int size = 0;
+    private long sequence = 0;
+
+    Node add(Passenger passenger) {
+        Node node = new Node(passenger, sequence++);
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+            node.prev = tail;
+        }
+        tail = node;
+        size++;
+        return node;
+    }
+
+    void unlink(Node node) {
+        if (node.prev == null) head = node.next;
+        else node.prev.next = node.next;
+        if (node.next == null) tail = node.prev;
+        else node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 按加入顺序排列的只读视图
+     */
+    List<Passenger> view() {
+        return view;
+    }
+
+    static class Node {
+        final Passenger passenger;
+        final long sequence;//加入顺序
+        private Node prev;
+        private Node next;
+
+        private Node(Passenger passenger, long sequence) {
+            this.passenger = passenger;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * 只读列表视图, 顺序遍历为O(1)每个元素, get(i)需要从头遍历
+     */
+    private class View extends AbstractList<Passenger> {
+        @Override
+        public Passenger get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            Node node = head;
+            for (int i = 0; i < index; i++) node = node.next;
+            return node.passenger;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Passenger> iterator() {
+            return new Iterator<>() {
+                private Node next = head;
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Passenger next() {
+                    if (next == null) throw new NoSuchElementException();
+                    Passenger passenger = next.passenger;
+                    next = next.next;
+                    return passenger;
+                }
+            };
+        }
+    }
+}
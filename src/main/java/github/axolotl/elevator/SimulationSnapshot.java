@@ -0,0 +1,193 @@
+package github.axolotl.elevator;
+
+import github.axolotl.passenger.Passenger;
+import github.axolotl.passenger.PassengerGenerator;
+import github.axolotl.passenger.PassengerStore;
+import github.axolotl.statistics.PassengerStatistics;
+import github.axolotl.util.SplitMixRandom;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * 模拟快照
+ * 把建筑在模拟过程中变化的全部状态写入一个二进制文件: 当前时间、所有乘客的数据、等待的乘客、
+ * 每部电梯的位置/方向/开门时间/运行状态/乘客、群控时每部电梯负责的请求、生成器和规则的状态(包括随机数流)。
+ * <p>
+ * 建筑的结构(楼层、电梯、生成器和规则、调度算法)不写入快照, 恢复时用同样的代码创建一个新的建筑,
+ * 再从快照中读取状态, 之后继续调用 {@link Building#startSimulation()} 即可从快照的时间点继续运行,
+ * 结果与不中断运行完全相同。调度算法没有自己的状态, 它们的决策只依赖快照中保存的请求和电梯状态。
+ * <pre>
+ * building.setDuration(checkpointTime);
+ * building.startSimulation();
+ * SimulationSnapshot.save(building, path);
+ * ...
+ * Building resumed = TestModel.createModelC(algorithm, eventRecoder);
+ * SimulationSnapshot.restore(resumed, path);
+ * resumed.startSimulation();
+ * </pre>
+ * 随机数流需要是 {@link SplitMixRandom} (规则和 {@link Building#seed(long)} 的默认值) 才能保存。
+ * 事件不写入快照, 恢复时根据已经离开电梯的乘客重建 {@link PassengerStatistics}。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public final class SimulationSnapshot {
+    public static final int MAGIC = 0x45534E50;//"ESNP"
+    public static final short VERSION = 3;
+
+    private SimulationSnapshot() {
+    }
+
+    /**
+     * 保存快照, 先写入临时文件再替换, 写到一半崩溃也不会破坏已有的快照
+     */
+    public static void save(Building building, Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            write(building, out);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 从快照恢复到一个新创建的、结构相同的建筑
+     *
+     * @throws IOException 文件不是快照, 或者与建筑的结构不一致
+     */
+    public static void restore(Building building, Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            read(building, in);
+        }
+    }
+
+    /**
+     * 把快照保存在内存中, 用于从同一个状态分出多个模拟
+     */
+    public static byte[] toBytes(Building building) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(building, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 从 {@link #toBytes} 得到的快照恢复
+     */
+    public static void restore(Building building, byte[] snapshot) {
+        try {
+            read(building, new DataInputStream(new ByteArrayInputStream(snapshot)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void write(Building building, DataOutput out) throws IOException {
+        List<Building.Elevator> elevators = building.getElevators();
+        List<PassengerGenerator> generators = building.getPassengerGenerators();
+        boolean group = building.getGroupController() != null;
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(building.getFloors());
+        out.writeInt(elevators.size());
+        out.writeInt(generators.size());
+        out.writeBoolean(group);
+
+        out.writeLong(building.getCurrentTime());
+        SplitMixRandom.writeState(out, building.getRandom());
+        building.getPassengerStore().writeState(out);
+        writeIds(out, building.getHallCalls().view());
+
+        for (Building.Elevator elevator : elevators) {
+            elevator.writeState(out);
+            writeIds(out, elevator.getCabin().view());
+            if (group) writeIds(out, elevator.getAssignedCalls().view());
+        }
+
+        for (PassengerGenerator generator : generators) {
+            generator.writeState(out);
+        }
+    }
+
+    public static void read(Building building, DataInput in) throws IOException {
+        PassengerStore store = building.getPassengerStore();
+        if (store.size() != 0) throw new IllegalStateException("只能恢复到新创建的建筑");
+
+        if (in.readInt() != MAGIC) throw new IOException("不是模拟快照文件");
+        short version = in.readShort();
+        if (version != VERSION) throw new IOException("不支持的快照版本: " + version);
+
+        List<Building.Elevator> elevators = building.getElevators();
+        List<PassengerGenerator> generators = building.getPassengerGenerators();
+        boolean group = building.getGroupController() != null;
+        check("楼层数", in.readInt(), building.getFloors());
+        check("电梯数量", in.readInt(), elevators.size());
+        check("生成器数量", in.readInt(), generators.size());
+        if (in.readBoolean() != group) throw new IOException("快照与建筑的群控设置不一致");
+
+        building.setCurrentTime(in.readLong());
+        building.setRandom(SplitMixRandom.readState(in));
+        store.readState(in);
+
+        //同一个乘客在大厅和负责它的电梯中必须是同一个对象
+        Passenger[] passengers = new Passenger[store.size()];
+        for (int id : readIds(in)) {
+            building.getHallCalls().add(passenger(store, passengers, id));
+        }
+
+        for (Building.Elevator elevator : elevators) {
+            elevator.readState(in);
+            for (int id : readIds(in)) {
+                elevator.getCabin().add(passenger(store, passengers, id));
+            }
+            if (group) {
+                for (int id : readIds(in)) {
+                    building.assignCall(elevator, passenger(store, passengers, id));
+                }
+            }
+        }
+
+        for (PassengerGenerator generator : generators) {
+            generator.readState(in);
+        }
+
+        PassengerStatistics statistics = building.getEventRecoder().getStatistics();
+        for (Passenger passenger : store.finished()) {
+            statistics.record(passenger);
+        }
+    }
+
+    private static Passenger passenger(PassengerStore store, Passenger[] passengers, int id) {
+        if (passengers[id] == null) passengers[id] = store.get(id);
+        return passengers[id];
+    }
+
+    private static void writeIds(DataOutput out, List<Passenger> passengers) throws IOException {
+        out.writeInt(passengers.size());
+        for (Passenger passenger : passengers) {
+            out.writeInt(passenger.getId());
+        }
+    }
+
+    private static int[] readIds(DataInput in) throws IOException {
+        int[] ids = new int[in.readInt()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = in.readInt();
+        }
+        return ids;
+    }
+
+    private static void check(String name, int saved, int actual) throws IOException {
+        if (saved != actual) throw new IOException("快照与建筑不一致: " + name + " " + saved + " != " + actual);
+    }
+}
@@ -0,0 +1,65 @@
+package github.axolotl.elevator.motion;
+
+/**
+ * 匀速运行, 出发和停下都不需要时间
+ * 速度按整数mm/s计算, 位置没有浮点误差
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class ConstantSpeedProfile implements MotionProfile {
+    private final double speed;//m/s
+    private final long speedMm;//mm/s
+
+    /**
+     * @param speed 速度(m/s)
+     */
+    public ConstantSpeedProfile(double speed) {
+        this.speed = speed;
+        this.speedMm = Math.round(speed * 1000);
+    }
+
+    @Override
+    public double getSpeed() {
+        return speed;
+    }
+
+    @Override
+    public boolean isConstantSpeed() {
+        return true;
+    }
+
+    @Override
+    public long freeDistance(long elapsed) {
+        return speedMm * elapsed / 1000;
+    }
+
+    @Override
+    public long freeTime(long distance) {
+        if (distance <= 0) return 0;
+        if (speedMm <= 0) return Long.MAX_VALUE;
+        return (distance * 1000 + speedMm - 1) / speedMm;
+    }
+
+    @Override
+    public long runTime(long distance) {
+        return freeTime(distance);
+    }
+
+    @Override
+    public long brakeTime(long distance) {
+        return runTime(distance);
+    }
+
+    @Override
+    public long runDistance(long distance, long elapsed) {
+        return Math.min(distance, freeDistance(elapsed));
+    }
+
+    @Override
+    public long runTime(long distance, long travelled) {
+        if (travelled > distance) return -1;
+        return freeTime(travelled);
+    }
+}
@@ -0,0 +1,57 @@
+package github.axolotl.elevator.motion;
+
+/**
+ * 加加速度受限的S形曲线: 加速度先按jerk线性增大到最大值, 保持, 再线性减小到0时正好达到最高速度
+ * 最高速度较低、加速度来不及增大到最大值时, 加速度增大到一半速度后立即开始减小
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class JerkLimitedProfile extends SymmetricMotionProfile {
+    private final double jerk;//mm/ms³
+    private final double jerkTime;//加速度增大或减小的时长(ms)
+    private final double constantTime;//加速度保持最大值的时长(ms)
+    private final double peakAcceleration;//实际达到的最大加速度(mm/ms²)
+
+    /**
+     * @param speed        最高速度(m/s)
+     * @param acceleration 最大加速度(m/s²)
+     * @param jerk         加加速度(m/s³)
+     */
+    public JerkLimitedProfile(double speed, double acceleration, double jerk) {
+        super(speed);
+        if (acceleration <= 0 || jerk <= 0) throw new IllegalArgumentException("加速度和加加速度需要大于0");
+        double a = acceleration / 1000;
+        this.jerk = jerk / 1_000_000;
+        if (speed >= a * a / this.jerk) {
+            this.jerkTime = a / this.jerk;
+            this.constantTime = speed / a - jerkTime;
+            this.peakAcceleration = a;
+        } else {
+            this.jerkTime = Math.sqrt(speed / this.jerk);
+            this.constantTime = 0;
+            this.peakAcceleration = this.jerk * jerkTime;
+        }
+    }
+
+    @Override
+    protected double accelerationTime() {
+        return 2 * jerkTime + constantTime;
+    }
+
+    @Override
+    protected double accelerationDistance(double t) {
+        double v1 = jerk * jerkTime * jerkTime / 2;
+        double s1 = jerk * jerkTime * jerkTime * jerkTime / 6;
+        if (t <= jerkTime) return jerk * t * t * t / 6;
+
+        double t2 = Math.min(t - jerkTime, constantTime);
+        double s2 = s1 + v1 * t2 + peakAcceleration * t2 * t2 / 2;
+        if (t <= jerkTime + constantTime) return s2;
+
+        double v2 = v1 + peakAcceleration * constantTime;
+        double t3 = Math.min(t - jerkTime - constantTime, jerkTime);
+        return s2 + v2 * t3 + peakAcceleration * t3 * t3 / 2 - jerk * t3 * t3 * t3 / 6;
+    }
+}
@@ -0,0 +1,79 @@
+package github.axolotl.elevator.motion;
+
+/**
+ * 电梯运行的运动学模型
+ * 电梯每次从静止出发开始一段运行, 位置是出发后经过时间的解析函数, 不随tick累加, 所以任意步长得到的位置都相同。
+ * 运行有两种: 还没有决定在哪里停下时按"自由运行"一直加速到最高速度并保持;
+ * 决定在距离出发点distance处停下后按"停靠运行"加速、匀速、减速, 刚好停在那里。
+ * 对于同一个停靠距离, 两种运行在开始减速之前完全相同, 所以电梯可以在经过减速点时再决定是否停下。
+ * <p>
+ * 时间单位为ms, 距离单位为mm。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public interface MotionProfile {
+
+    /**
+     * 最高速度(m/s)
+     */
+    double getSpeed();
+
+    /**
+     * 是否没有加减速过程, 这种电梯进入停靠范围就能停下
+     */
+    boolean isConstantSpeed();
+
+    /**
+     * 自由运行elapsed之后走过的距离
+     */
+    long freeDistance(long elapsed);
+
+    /**
+     * 走完distance并停下需要的时间
+     */
+    long runTime(long distance);
+
+    /**
+     * 走完distance的停靠运行中开始减速的时间, 也就是最晚决定停在那里的时间
+     */
+    long brakeTime(long distance);
+
+    /**
+     * 走完distance的停靠运行中, elapsed之后走过的距离, 不超过distance
+     */
+    long runDistance(long distance, long elapsed);
+
+    /**
+     * 自由运行走过至少distance需要的最短时间
+     */
+    default long freeTime(long distance) {
+        if (distance <= 0) return 0;
+        long low = 0;
+        long high = 1;
+        while (freeDistance(high) < distance) high *= 2;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (freeDistance(middle) >= distance) high = middle;
+            else low = middle + 1;
+        }
+        return low;
+    }
+
+    /**
+     * 走完distance的停靠运行中走过至少travelled需要的最短时间, travelled超过distance时返回-1
+     */
+    default long runTime(long distance, long travelled) {
+        if (travelled > distance) return -1;
+        if (travelled <= 0) return 0;
+        long low = 0;
+        long high = runTime(distance);
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (runDistance(distance, middle) >= travelled) high = middle;
+            else low = middle + 1;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,101 @@
+package github.axolotl.elevator.motion;
+
+/**
+ * 加速和减速过程对称的运动学模型
+ * 子类只需要给出从静止加速到最高速度的过程, 停靠运行的减速段是加速段在时间上的倒放。
+ * 距离太短、来不及加速到最高速度时, 加速到中点后立即开始对称地减速。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public abstract class SymmetricMotionProfile implements MotionProfile {
+    protected final double speed;//最高速度, m/s即mm/ms
+
+    protected SymmetricMotionProfile(double speed) {
+        if (speed <= 0) throw new IllegalArgumentException("速度需要大于0");
+        this.speed = speed;
+    }
+
+    /**
+     * 从静止加速到最高速度需要的时间(ms)
+     */
+    protected abstract double accelerationTime();
+
+    /**
+     * 加速过程中, 出发t(ms)之后走过的距离(mm), 0 <= t <= accelerationTime()
+     */
+    protected abstract double accelerationDistance(double t);
+
+    @Override
+    public double getSpeed() {
+        return speed;
+    }
+
+    @Override
+    public boolean isConstantSpeed() {
+        return false;
+    }
+
+    @Override
+    public long freeDistance(long elapsed) {
+        return floor(free(elapsed));
+    }
+
+    private double free(double t) {
+        double ta = accelerationTime();
+        if (t <= ta) return accelerationDistance(Math.max(t, 0));
+        return accelerationDistance(ta) + speed * (t - ta);
+    }
+
+    /**
+     * 停靠运行中加速段的时长(ms), 等于减速段的时长
+     */
+    private double rampTime(long distance) {
+        double ta = accelerationTime();
+        if (distance >= 2 * accelerationDistance(ta)) return ta;
+        //二分求加速到一半距离的时间
+        double low = 0;
+        double high = ta;
+        for (int i = 0; i < 64; i++) {
+            double middle = (low + high) / 2;
+            if (2 * accelerationDistance(middle) >= distance) high = middle;
+            else low = middle;
+        }
+        return high;
+    }
+
+    /**
+     * 停靠运行的精确时长(ms)
+     */
+    private double exactRunTime(long distance) {
+        double ramp = rampTime(distance);
+        double cruise = Math.max(0, distance - 2 * accelerationDistance(ramp)) / speed;
+        return 2 * ramp + cruise;
+    }
+
+    @Override
+    public long runTime(long distance) {
+        if (distance <= 0) return 0;
+        return (long) Math.ceil(exactRunTime(distance) - 1e-9);
+    }
+
+    @Override
+    public long brakeTime(long distance) {
+        if (distance <= 0) return 0;
+        return (long) Math.floor(exactRunTime(distance) - rampTime(distance) + 1e-9);
+    }
+
+    @Override
+    public long runDistance(long distance, long elapsed) {
+        if (elapsed >= runTime(distance)) return distance;
+        double total = exactRunTime(distance);
+        double ramp = rampTime(distance);
+        double travelled = elapsed <= total - ramp ? free(elapsed) : distance - accelerationDistance(total - elapsed);
+        return Math.min(distance, floor(travelled));
+    }
+
+    private static long floor(double distance) {
+        return (long) Math.floor(distance + 1e-6);
+    }
+}
@@ -0,0 +1,32 @@
+package github.axolotl.elevator.motion;
+
+/**
+ * 匀加速到最高速度, 匀速运行, 再匀减速停下
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class TrapezoidalProfile extends SymmetricMotionProfile {
+    private final double acceleration;//mm/ms²
+
+    /**
+     * @param speed        最高速度(m/s)
+     * @param acceleration 加速度(m/s²)
+     */
+    public TrapezoidalProfile(double speed, double acceleration) {
+        super(speed);
+        if (acceleration <= 0) throw new IllegalArgumentException("加速度需要大于0");
+        this.acceleration = acceleration / 1000;
+    }
+
+    @Override
+    protected double accelerationTime() {
+        return speed / acceleration;
+    }
+
+    @Override
+    protected double accelerationDistance(double t) {
+        return acceleration * t * t / 2;
+    }
+}
@@ -1,6 +1,5 @@
 package github.axolotl.event;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 
 /**
@@ -9,8 +8,16 @@ import lombok.Data;
  * @Date 2025/4/13 13:52
  */
 @Data
-@AllArgsConstructor
 public abstract class AbstractEvent {
     private EventType type;
+    private long time = -1;//事件发生的模拟时间(ms), -1表示未知
 
+    public AbstractEvent(EventType type) {
+        this.type = type;
+    }
+
+    public AbstractEvent(EventType type, long time) {
+        this.type = type;
+        this.time = time;
+    }
 }
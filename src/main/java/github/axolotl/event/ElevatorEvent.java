@@ -16,13 +16,13 @@ public class ElevatorEvent extends AbstractEvent {
     private Passenger passenger;
 
     public ElevatorEvent(EventType type, Building building, Building.Elevator elevator) {
-        super(type);
+        super(type, building.getCurrentTime());
         this.building = building;
         this.elevator = elevator;
     }
 
     public ElevatorEvent(EventType type, Building building, Building.Elevator elevator, Passenger passenger) {
-        super(type);
+        super(type, building.getCurrentTime());
         this.building = building;
         this.elevator = elevator;
         this.passenger = passenger;
@@ -0,0 +1,70 @@
+package github.axolotl.event;
+
+import github.axolotl.passenger.Passenger;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 事件的紧凑文本格式
+ * 每个事件一行, 只输出固定的几个字段, 不会像toString一样把建筑和电梯的全部状态打印出来:
+ * <pre>
+ * [12.300s] 乘客进入电梯 电梯#1 乘客#12 3->7
+ * </pre>
+ * 内部复用同一个StringBuilder, 不是线程安全的。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/25
+ */
+public class EventFormatter {
+    private final StringBuilder builder = new StringBuilder(64);
+
+    /**
+     * 格式化一个事件
+     */
+    public String format(AbstractEvent event) {
+        return append(event).toString();
+    }
+
+    /**
+     * 把一个事件写入writer, 以换行结尾
+     */
+    public void write(AbstractEvent event, Writer writer) throws IOException {
+        append(event).append('\n');
+        writer.append(builder);
+    }
+
+    private StringBuilder append(AbstractEvent event) {
+        StringBuilder sb = builder;
+        sb.setLength(0);
+
+        sb.append('[');
+        long time = event.getTime();
+        if (time < 0) {
+            sb.append('?');
+        } else {
+            long millis = time % 1000;
+            sb.append(time / 1000).append('.');
+            if (millis < 100) sb.append('0');
+            if (millis < 10) sb.append('0');
+            sb.append(millis).append('s');
+        }
+        sb.append("] ").append(event.getType().getAlias());
+
+        Passenger passenger = null;
+        if (event instanceof ElevatorEvent elevatorEvent) {
+            sb.append(" 电梯").append(elevatorEvent.getElevator().getId());
+            passenger = elevatorEvent.getPassenger();
+        } else if (event instanceof PassengerEvent passengerEvent) {
+            passenger = passengerEvent.getPassenger();
+        }
+
+        if (passenger != null) {
+            sb.append(" 乘客#").append(passenger.getId())
+                    .append(' ').append(passenger.getOriginFloor())
+                    .append("->").append(passenger.getTargetFloor());
+        }
+        return sb;
+    }
+}
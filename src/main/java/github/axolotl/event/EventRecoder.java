@@ -1,9 +1,11 @@
 package github.axolotl.event;
 
-import lombok.Data;
+import github.axolotl.event.sink.EventSink;
+import github.axolotl.event.sink.InMemoryEventSink;
+import github.axolotl.statistics.PassengerStatistics;
+import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -12,31 +14,44 @@ import java.util.Map;
  * @Created by Axolotl
  * @Date 2025/4/13 13:58
  */
-@Data
-public class EventRecoder {
-    private List<AbstractEvent> events = new ArrayList<>();
-    private Map<EventType, List<AbstractEvent>> eventsByType = new HashMap<>();
+public class EventRecoder implements AutoCloseable {
+    @Getter
+    private final EventSink sink;//事件的去向
+    private final long[] counts = new long[EventType.values().length];//按类型计数, 不受sink影响
+    @Getter
+    private final PassengerStatistics statistics = new PassengerStatistics();//乘客时间的在线统计, 不受sink影响
+
+    public EventRecoder() {
+        this(new InMemoryEventSink());
+    }
+
+    public EventRecoder(EventSink sink) {
+        this.sink = sink;
+    }
 
     public void addEvent(AbstractEvent event) {
-        events.add(event);
-        eventsByType.computeIfAbsent(event.getType(), k -> new ArrayList<>()).add(event);
+        counts[event.getType().ordinal()]++;
+        if (event.getType() == EventType.PassengerFinishElevator && event instanceof ElevatorEvent elevatorEvent) {
+            statistics.record(elevatorEvent.getPassenger());
+        }
+        sink.accept(event);
     }
 
     /**
      * 获取所有事件
-     * @return 事件列表
+     * @return 事件列表, 只包含sink保留在内存中的事件
      */
     public List<AbstractEvent> getEvents() {
-        return events;
+        return sink.getEvents();
     }
 
     /**
      * 获取指定类型的事件
      * @param type 事件类型
-     * @return 事件列表
+     * @return 事件列表, 只包含sink保留在内存中的事件
      */
     public List<AbstractEvent> getEventsByType(EventType type) {
-        return eventsByType.getOrDefault(type, new ArrayList<>());
+        return sink.getEventsByType(type);
     }
 
     /**
@@ -44,12 +59,20 @@ public class EventRecoder {
      * @return 事件类型和数量的映射
      */
     public Map<EventType, Integer> getEventStatistics() {
-        Map<EventType, Integer> statistics = new HashMap<>();
+        Map<EventType, Integer> statistics = new EnumMap<>(EventType.class);
         
-        for (EventType type : eventsByType.keySet()) {
-            statistics.put(type, eventsByType.get(type).size());
+        for (EventType type : EventType.values()) {
+            if (counts[type.ordinal()] > 0) statistics.put(type, (int) counts[type.ordinal()]);
         }
         
         return statistics;
     }
+
+    /**
+     * 结束记录, 关闭sink
+     */
+    @Override
+    public void close() {
+        sink.close();
+    }
 }
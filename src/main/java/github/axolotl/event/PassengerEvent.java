@@ -18,4 +18,9 @@ public class PassengerEvent extends AbstractEvent {
         super(type);
         this.passenger = passenger;
     }
+
+    public PassengerEvent(EventType type, Passenger passenger, long time) {
+        super(type, time);
+        this.passenger = passenger;
+    }
 }
@@ -0,0 +1,42 @@
+package github.axolotl.event.log;
+
+/**
+ * 二进制事件日志格式
+ * <p>
+ * 文件头16字节: magic(int) 版本(short) 记录长度(short) 保留(long)
+ * <p>
+ * 之后是定长24字节的记录, 小端序:
+ * <pre>
+ * 偏移  长度  字段
+ *  0     8   事件时间(ms)
+ *  8     4   乘客编号, -1表示无
+ * 12     2   电梯下标, -1表示无
+ * 14     2   乘客起始楼层
+ * 16     2   乘客目标楼层
+ * 18     2   事件发生的楼层
+ * 20     1   事件类型(EventType的序号)
+ * 21     3   保留
+ * </pre>
+ * 记录数量由文件长度推出, 不需要在写完后回填文件头。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/25
+ */
+public final class BinaryEventLog {
+    public static final int MAGIC = 0x454C4556;//"ELEV"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int RECORD_SIZE = 24;
+
+    static final int TIME_OFFSET = 0;
+    static final int PASSENGER_OFFSET = 8;
+    static final int ELEVATOR_OFFSET = 12;
+    static final int ORIGIN_OFFSET = 14;
+    static final int TARGET_OFFSET = 16;
+    static final int FLOOR_OFFSET = 18;
+    static final int TYPE_OFFSET = 20;
+
+    private BinaryEventLog() {
+    }
+}
@@ -0,0 +1,133 @@
+package github.axolotl.event.log;
+
+import github.axolotl.event.EventType;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static github.axolotl.event.log.BinaryEventLog.*;
+
+/**
+ * 二进制事件日志的读取器
+ * 把文件映射到内存, 以游标方式逐条读取记录, 读取过程中不创建任何对象:
+ * <pre>
+ * try (BinaryEventLogReader reader = new BinaryEventLogReader(path)) {
+ *     while (reader.next()) {
+ *         long time = reader.time();
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * 超过2GB的文件会分段映射, 每段都是记录长度的整数倍。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/25
+ */
+public class BinaryEventLogReader implements AutoCloseable {
+    private static final long SEGMENT_SIZE = (Integer.MAX_VALUE / RECORD_SIZE) * (long) RECORD_SIZE;//每段映射的字节数
+    private static final EventType[] TYPES = EventType.values();
+
+    private final FileChannel channel;
+    private final long count;
+    private MappedByteBuffer segment;
+    private long segmentStart = 0;//当前段第一条记录的下标
+    private long segmentEnd = 0;//当前段之后第一条记录的下标
+    private long index = -1;//当前记录的下标
+    private int offset;//当前记录在段内的偏移
+
+    public BinaryEventLogReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE) throw new IOException("不是事件日志文件: " + path);
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) throw new IOException("不是事件日志文件: " + path);
+            if (header.getShort(4) != VERSION || header.getShort(6) != RECORD_SIZE)
+                throw new IOException("不支持的事件日志版本: " + header.getShort(4));
+            this.count = (size - HEADER_SIZE) / RECORD_SIZE;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 记录总数
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * 移动到下一条记录
+     *
+     * @return 没有更多记录时返回false
+     */
+    public boolean next() throws IOException {
+        if (index + 1 >= count) return false;
+        seek(index + 1);
+        return true;
+    }
+
+    /**
+     * 移动到指定下标的记录
+     */
+    public void seek(long index) throws IOException {
+        if (index < 0 || index >= count) throw new IndexOutOfBoundsException("Index: " + index + ", Count: " + count);
+        if (index < segmentStart || index >= segmentEnd) map(index);
+        this.index = index;
+        this.offset = (int) ((index - segmentStart) * RECORD_SIZE);
+    }
+
+    private void map(long index) throws IOException {
+        segmentStart = index - index % (SEGMENT_SIZE / RECORD_SIZE);
+        long length = Math.min(SEGMENT_SIZE, (count - segmentStart) * RECORD_SIZE);
+        segment = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + segmentStart * RECORD_SIZE, length);
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segmentEnd = segmentStart + length / RECORD_SIZE;
+    }
+
+    public long index() {
+        return index;
+    }
+
+    public long time() {
+        return segment.getLong(offset + TIME_OFFSET);
+    }
+
+    public EventType type() {
+        return TYPES[segment.get(offset + TYPE_OFFSET)];
+    }
+
+    public int passenger() {
+        return segment.getInt(offset + PASSENGER_OFFSET);
+    }
+
+    public int elevator() {
+        return segment.getShort(offset + ELEVATOR_OFFSET);
+    }
+
+    public int origin() {
+        return segment.getShort(offset + ORIGIN_OFFSET);
+    }
+
+    public int target() {
+        return segment.getShort(offset + TARGET_OFFSET);
+    }
+
+    public int floor() {
+        return segment.getShort(offset + FLOOR_OFFSET);
+    }
+
+    @Override
+    public void close() throws IOException {
+        segment = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,86 @@
+package github.axolotl.event.log;
+
+import github.axolotl.event.EventType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static github.axolotl.event.log.BinaryEventLog.*;
+
+/**
+ * 二进制事件日志的写入器
+ * 记录先写入一块直接内存缓冲区, 满了再通过FileChannel整块写出
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/25
+ */
+public class BinaryEventLogWriter implements AutoCloseable {
+    private static final int BUFFER_RECORDS = 64 * 1024;//缓冲区可容纳的记录数
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long count = 0;
+
+    public BinaryEventLogWriter(Path path) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putLong(0);
+    }
+
+    /**
+     * 写入一条记录
+     */
+    public void write(long time, EventType type, int elevator, int passenger, int origin, int target, int floor)
+            throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) flush();
+
+        int position = buffer.position();
+        buffer.putLong(position + TIME_OFFSET, time)
+                .putInt(position + PASSENGER_OFFSET, passenger)
+                .putShort(position + ELEVATOR_OFFSET, (short) elevator)
+                .putShort(position + ORIGIN_OFFSET, (short) origin)
+                .putShort(position + TARGET_OFFSET, (short) target)
+                .putShort(position + FLOOR_OFFSET, (short) floor)
+                .put(position + TYPE_OFFSET, (byte) type.ordinal())
+                .put(position + TYPE_OFFSET + 1, (byte) 0)
+                .putShort(position + TYPE_OFFSET + 2, (short) 0);
+        buffer.position(position + RECORD_SIZE);
+        count++;
+    }
+
+    /**
+     * 已写入的记录数
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * 把缓冲区中的记录写到文件
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
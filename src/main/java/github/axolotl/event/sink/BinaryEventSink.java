@@ -0,0 +1,71 @@
+package github.axolotl.event.sink;
+
+import github.axolotl.elevator.Building;
+import github.axolotl.event.AbstractEvent;
+import github.axolotl.event.ElevatorEvent;
+import github.axolotl.event.PassengerEvent;
+import github.axolotl.event.log.BinaryEventLogWriter;
+import github.axolotl.passenger.Passenger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * 把事件写入二进制事件日志, 内存中不保留事件
+ * 乘客事件记录乘客的起始楼层, 电梯事件记录电梯当时所在的楼层
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/25
+ * @see github.axolotl.event.log.BinaryEventLog
+ */
+public class BinaryEventSink implements EventSink {
+    private final Path path;
+    private final BinaryEventLogWriter writer;
+
+    public BinaryEventSink(Path path) {
+        this.path = path;
+        try {
+            this.writer = new BinaryEventLogWriter(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法创建事件日志: " + path, e);
+        }
+    }
+
+    @Override
+    public void accept(AbstractEvent event) {
+        Passenger passenger = null;
+        int elevator = -1;
+        int floor = -1;
+        if (event instanceof ElevatorEvent elevatorEvent) {
+            Building.Elevator e = elevatorEvent.getElevator();
+            passenger = elevatorEvent.getPassenger();
+            elevator = e.getIndex();
+            floor = (int) Math.round(e.getFloorNumber()) + 1;
+        } else if (event instanceof PassengerEvent passengerEvent) {
+            passenger = passengerEvent.getPassenger();
+        }
+
+        try {
+            if (passenger == null) {
+                writer.write(event.getTime(), event.getType(), elevator, -1, -1, -1, floor);
+            } else {
+                writer.write(event.getTime(), event.getType(), elevator, passenger.getId(),
+                        passenger.getOriginFloor(), passenger.getTargetFloor(),
+                        floor < 0 ? passenger.getOriginFloor() : floor);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入事件日志时出错: " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("关闭事件日志时出错: " + path, e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package github.axolotl.event.sink;
+
+import github.axolotl.event.AbstractEvent;
+
+/**
+ * 不保留任何事件, 只使用 EventRecoder 中按类型统计的数量
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/24
+ */
+public class CountingEventSink implements EventSink {
+    @Override
+    public void accept(AbstractEvent event) {
+        //只计数, 计数由EventRecoder完成
+    }
+}
@@ -0,0 +1,39 @@
+package github.axolotl.event.sink;
+
+import github.axolotl.event.AbstractEvent;
+import github.axolotl.event.EventType;
+
+import java.util.List;
+
+/**
+ * 事件的去向
+ * EventRecoder 收到的每个事件都会交给一个 EventSink, 由它决定保留多少事件、是否写出到文件。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/24
+ */
+public interface EventSink extends AutoCloseable {
+    void accept(AbstractEvent event);//接收一个事件
+
+    /**
+     * 仍然保留在内存中的事件, 按发生顺序排列
+     */
+    default List<AbstractEvent> getEvents() {
+        return List.of();
+    }
+
+    /**
+     * 仍然保留在内存中的指定类型的事件
+     */
+    default List<AbstractEvent> getEventsByType(EventType type) {
+        return getEvents().stream().filter(event -> event.getType() == type).toList();
+    }
+
+    /**
+     * 结束记录, 释放资源
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,54 @@
+package github.axolotl.event.sink;
+
+import github.axolotl.event.AbstractEvent;
+import github.axolotl.event.EventFormatter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 把事件逐行写入文本文件, 内存中不保留事件
+ * 每行的格式见 {@link EventFormatter}
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/24
+ */
+public class FileEventSink implements EventSink {
+    private final Path path;
+    private final BufferedWriter writer;
+    private final EventFormatter formatter = new EventFormatter();
+
+    public FileEventSink(Path path) {
+        this.path = path;
+        try {
+            // 创建目录（如果不存在）
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法创建事件文件: " + path, e);
+        }
+    }
+
+    @Override
+    public void accept(AbstractEvent event) {
+        try {
+            formatter.write(event, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入事件文件时出错: " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("关闭事件文件时出错: " + path, e);
+        }
+    }
+}
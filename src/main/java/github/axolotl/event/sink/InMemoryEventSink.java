@@ -0,0 +1,37 @@
+package github.axolotl.event.sink;
+
+import github.axolotl.event.AbstractEvent;
+import github.axolotl.event.EventType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 在内存中保留全部事件, 内存随模拟时长线性增长
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/24
+ */
+public class InMemoryEventSink implements EventSink {
+    private final List<AbstractEvent> events = new ArrayList<>();
+    private final Map<EventType, List<AbstractEvent>> eventsByType = new EnumMap<>(EventType.class);
+
+    @Override
+    public void accept(AbstractEvent event) {
+        events.add(event);
+        eventsByType.computeIfAbsent(event.getType(), k -> new ArrayList<>()).add(event);
+    }
+
+    @Override
+    public List<AbstractEvent> getEvents() {
+        return events;
+    }
+
+    @Override
+    public List<AbstractEvent> getEventsByType(EventType type) {
+        return eventsByType.getOrDefault(type, new ArrayList<>());
+    }
+}
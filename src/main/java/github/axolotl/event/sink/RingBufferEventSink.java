@@ -0,0 +1,41 @@
+package github.axolotl.event.sink;
+
+import github.axolotl.event.AbstractEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 只保留最近的N个事件, 内存固定
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/24
+ */
+public class RingBufferEventSink implements EventSink {
+    private final AbstractEvent[] buffer;
+    private int next = 0;//下一个写入位置
+    private int size = 0;
+
+    public RingBufferEventSink(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("容量必须大于0: " + capacity);
+        this.buffer = new AbstractEvent[capacity];
+    }
+
+    @Override
+    public void accept(AbstractEvent event) {
+        buffer[next] = event;
+        next = (next + 1) % buffer.length;
+        if (size < buffer.length) size++;
+    }
+
+    @Override
+    public List<AbstractEvent> getEvents() {
+        List<AbstractEvent> events = new ArrayList<>(size);
+        int start = (next - size + buffer.length) % buffer.length;
+        for (int i = 0; i < size; i++) {
+            events.add(buffer[(start + i) % buffer.length]);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,56 @@
+package github.axolotl.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * 把 {@link SimulationMetrics} 注册为平台MBeanServer上的MXBean, 运行期间可以用JConsole/VisualVM查看
+ * 名称为 {@code github.axolotl:type=SimulationMetrics,name=<name>}, 同名的旧指标会被替换。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public final class MetricsRegistry {
+    public static final String DOMAIN = "github.axolotl";
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * 注册指标
+     *
+     * @param name 模拟的名称, 例如 "modelC-LOOK"
+     * @return 注册使用的ObjectName
+     */
+    public static ObjectName register(String name, SimulationMetrics metrics) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = objectName(name);
+            if (server.isRegistered(objectName)) server.unregisterMBean(objectName);
+            server.registerMBean(metrics, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("注册运行指标失败: " + name, e);
+        }
+    }
+
+    /**
+     * 注销指标, 没有注册过时什么也不做
+     */
+    public static void unregister(String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = objectName(name);
+            if (server.isRegistered(objectName)) server.unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("注销运行指标失败: " + name, e);
+        }
+    }
+
+    public static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=SimulationMetrics,name=" + ObjectName.quote(name));
+    }
+}
@@ -0,0 +1,341 @@
+package github.axolotl.metrics;
+
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.elevator.Building;
+import github.axolotl.statistics.LatencyHistogram;
+import github.axolotl.util.TextAlign;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 一次模拟的运行指标: 计数、当前值和热路径上的耗时
+ * 通过 {@link Building#setMetrics} 挂到建筑上后, 引擎记录每一步、每次电梯tick、每次乘客到达的处理,
+ * 以及每个调度算法的 doLogic/passengerCall 的耗时(ns), 按算法的类名分别统计。
+ * 建筑上没有挂指标时热路径上只多一次null判断。
+ * <p>
+ * 指标只由运行模拟的线程写入, 不加锁; 从JMX等其他线程读取时数值可能略有滞后或不一致, 模拟结束后读取是准确的。
+ * 算法列表是写时复制的, 读取时不会看到加到一半的算法; 运行期间从其他线程调用 {@link #reset()} 只做标记,
+ * 由模拟线程在下一步开始时或运行结束时清空。
+ * 当前值(等待的乘客、电梯内的乘客、模拟时间)在读取时直接从建筑得到, 不占用热路径。
+ * <pre>
+ * SimulationMetrics metrics = new SimulationMetrics();
+ * building.setMetrics(metrics);
+ * MetricsRegistry.register("modelC-LOOK", metrics);
+ * building.startSimulation();
+ * metrics.print(System.out);
+ * </pre>
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class SimulationMetrics implements SimulationMetricsMXBean {
+    public static final String STEP = "step";//引擎的一步
+    public static final String ELEVATOR_TICK = "elevatorTick";//每一步中一部电梯的推进和停靠检查
+    public static final String ARRIVALS = "arrivals";//处理到期的乘客生成
+    public static final String DO_LOGIC = "doLogic.";//加上算法的类名
+    public static final String PASSENGER_CALL = "passengerCall.";//加上算法的类名
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private Building building;
+    private long steps;
+    private long passengerCalls;
+    private int maxWaitingPassengers;
+    private final LatencyHistogram step = new LatencyHistogram();
+    private final LatencyHistogram elevatorTick = new LatencyHistogram();
+    private final LatencyHistogram arrivals = new LatencyHistogram();
+    private final List<AlgorithmLatency> algorithms = new CopyOnWriteArrayList<>();//算法种类很少, 只在第一次出现时复制
+    private AlgorithmLatency lastAlgorithm;
+
+    //运行期间的耗时和分配, 可以多次运行(例如从快照恢复后继续)累加
+    private long elapsedNanos;
+    private long allocatedBytes;
+    private volatile boolean running;
+    private volatile long runStart;
+    private volatile long runThread;
+    private volatile long runAllocationStart;
+    private volatile boolean resetRequested;//运行期间其他线程请求的清空
+
+    /**
+     * 一个调度算法的耗时
+     */
+    public static final class AlgorithmLatency {
+        private final Class<?> type;
+        private final LatencyHistogram doLogic = new LatencyHistogram();
+        private final LatencyHistogram passengerCall = new LatencyHistogram();
+
+        private AlgorithmLatency(Class<?> type) {
+            this.type = type;
+        }
+
+        public void recordDoLogic(long nanos) {
+            doLogic.record(nanos);
+        }
+
+        public void recordPassengerCall(long nanos) {
+            passengerCall.record(nanos);
+        }
+    }
+
+    /**
+     * 由 {@link Building#setMetrics} 调用, 当前值从这个建筑读取
+     */
+    public void bind(Building building) {
+        this.building = building;
+    }
+
+    /**
+     * 引擎开始运行
+     */
+    public void runStarted() {
+        runThread = Thread.currentThread().getId();
+        runAllocationStart = threadAllocatedBytes(runThread);
+        runStart = System.nanoTime();
+        running = true;
+    }
+
+    /**
+     * 引擎运行结束, 运行期间请求的清空在最后一步之后才到达时在这里完成
+     */
+    public void runFinished() {
+        if (!running) return;
+        applyPendingReset();
+        running = false;
+        elapsedNanos += System.nanoTime() - runStart;
+        long allocated = threadAllocatedBytes(runThread);
+        if (allocated >= 0 && runAllocationStart >= 0) allocatedBytes += allocated - runAllocationStart;
+    }
+
+    public void recordStep(long nanos) {
+        applyPendingReset();
+        steps++;
+        step.record(nanos);
+    }
+
+    public void recordElevatorTick(long nanos) {
+        elevatorTick.record(nanos);
+    }
+
+    public void recordArrivals(long nanos) {
+        arrivals.record(nanos);
+    }
+
+    /**
+     * 记录一次乘客呼叫
+     *
+     * @param waiting 呼叫后在外等待的乘客数量
+     */
+    public void recordPassengerCall(int waiting) {
+        passengerCalls++;
+        if (waiting > maxWaitingPassengers) maxWaitingPassengers = waiting;
+    }
+
+    /**
+     * 调度算法的耗时统计, 同一个类的算法实例共用
+     */
+    public AlgorithmLatency algorithm(ElevatorSchedulingAlgorithm algorithm) {
+        Class<?> type = algorithm.getClass();
+        AlgorithmLatency last = lastAlgorithm;
+        if (last != null && last.type == type) return last;
+        for (int i = 0; i < algorithms.size(); i++) {
+            if (algorithms.get(i).type == type) return lastAlgorithm = algorithms.get(i);
+        }
+        AlgorithmLatency latency = new AlgorithmLatency(type);
+        algorithms.add(latency);
+        return lastAlgorithm = latency;
+    }
+
+    /**
+     * 所有耗时统计, 键为耗时的名称
+     */
+    public Map<String, LatencyHistogram> getLatencies() {
+        Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+        latencies.put(STEP, step);
+        latencies.put(ELEVATOR_TICK, elevatorTick);
+        latencies.put(ARRIVALS, arrivals);
+        for (AlgorithmLatency algorithm : algorithms) {
+            latencies.put(DO_LOGIC + algorithm.type.getSimpleName(), algorithm.doLogic);
+            latencies.put(PASSENGER_CALL + algorithm.type.getSimpleName(), algorithm.passengerCall);
+        }
+        return latencies;
+    }
+
+    @Override
+    public long getSteps() {
+        return steps;
+    }
+
+    @Override
+    public double getStepsPerSecond() {
+        long elapsed = elapsedNanos();
+        return elapsed == 0 ? 0 : steps * 1e9 / elapsed;
+    }
+
+    @Override
+    public long getElapsedMillis() {
+        return elapsedNanos() / 1_000_000;
+    }
+
+    @Override
+    public long getSimulatedTime() {
+        return building == null ? 0 : building.getCurrentTime();
+    }
+
+    @Override
+    public long getPassengerCalls() {
+        return passengerCalls;
+    }
+
+    @Override
+    public int getWaitingPassengers() {
+        return building == null ? 0 : building.getHallCalls().size();
+    }
+
+    @Override
+    public int getMaxWaitingPassengers() {
+        return maxWaitingPassengers;
+    }
+
+    @Override
+    public int getPassengersInElevators() {
+        if (building == null) return 0;
+        int count = 0;
+        for (Building.Elevator elevator : building.getElevators()) {
+            count += elevator.getCabin().size();
+        }
+        return count;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        if (threadAllocatedBytes(Thread.currentThread().getId()) < 0) return -1;
+        long allocated = allocatedBytes;
+        if (running) {
+            long current = threadAllocatedBytes(runThread);
+            if (current >= 0 && runAllocationStart >= 0) allocated += current - runAllocationStart;
+        }
+        return allocated;
+    }
+
+    @Override
+    public double getAllocationRate() {
+        long allocated = getAllocatedBytes();
+        long elapsed = elapsedNanos();
+        if (allocated < 0) return -1;
+        return elapsed == 0 ? 0 : allocated * 1e9 / elapsed;
+    }
+
+    @Override
+    public Map<String, Long> getLatencyCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        getLatencies().forEach((name, histogram) -> counts.put(name, histogram.getCount()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyNanos() {
+        Map<String, Double> means = new LinkedHashMap<>();
+        getLatencies().forEach((name, histogram) -> means.put(name, histogram.getMean()));
+        return means;
+    }
+
+    @Override
+    public Map<String, Long> getP99LatencyNanos() {
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        getLatencies().forEach((name, histogram) -> percentiles.put(name, histogram.getValueAtPercentile(99)));
+        return percentiles;
+    }
+
+    @Override
+    public String dump() {
+        StringWriter text = new StringWriter();
+        print(new PrintWriter(text));
+        return text.toString();
+    }
+
+    /**
+     * 运行期间从其他线程调用时, 由模拟线程在下一步开始时或运行结束时清空
+     */
+    @Override
+    public void reset() {
+        if (running && Thread.currentThread().getId() != runThread) {
+            resetRequested = true;
+            return;
+        }
+        clear();
+    }
+
+    private void applyPendingReset() {
+        if (resetRequested) {
+            resetRequested = false;
+            clear();
+        }
+    }
+
+    private void clear() {
+        steps = 0;
+        passengerCalls = 0;
+        maxWaitingPassengers = 0;
+        step.reset();
+        elevatorTick.reset();
+        arrivals.reset();
+        for (AlgorithmLatency algorithm : algorithms) {
+            algorithm.doLogic.reset();
+            algorithm.passengerCall.reset();
+        }
+        elapsedNanos = 0;
+        allocatedBytes = 0;
+        if (running) {
+            runStart = System.nanoTime();
+            runAllocationStart = threadAllocatedBytes(runThread);
+        }
+    }
+
+    /**
+     * 输出所有指标, 耗时单位为ns
+     */
+    public void print(PrintStream out) {
+        PrintWriter writer = new PrintWriter(out);
+        print(writer);
+        writer.flush();
+    }
+
+    private void print(PrintWriter out) {
+        out.printf("步数 %d, 耗时 %dms, %.0f步/s, 模拟时间 %dms\n", steps, getElapsedMillis(), getStepsPerSecond(),
+                getSimulatedTime());
+        out.printf("乘客呼叫 %d, 等待 %d (最多 %d), 电梯内 %d\n", passengerCalls, getWaitingPassengers(),
+                maxWaitingPassengers, getPassengersInElevators());
+        long allocated = getAllocatedBytes();
+        if (allocated >= 0) out.printf("分配 %.1fMB, %.1fMB/s\n", allocated / 1048576.0, getAllocationRate() / 1048576.0);
+        out.println(TextAlign.left("", 28) + TextAlign.right("次数", 12) + TextAlign.right("平均", 10)
+                + TextAlign.right("p99", 10) + TextAlign.right("最大", 10));
+        for (Map.Entry<String, LatencyHistogram> entry : getLatencies().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) continue;
+            out.printf("%s%12d%10.0f%10d%10d\n", TextAlign.left(entry.getKey(), 28), histogram.getCount(), histogram.getMean(),
+                    histogram.getValueAtPercentile(99), histogram.getMax());
+        }
+    }
+
+    private long elapsedNanos() {
+        return running ? elapsedNanos + System.nanoTime() - runStart : elapsedNanos;
+    }
+
+    /**
+     * 线程已经分配的字节数, JVM不支持时返回-1
+     */
+    private static long threadAllocatedBytes(long threadId) {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean threads) || !threads.isThreadAllocatedMemorySupported()
+                || !threads.isThreadAllocatedMemoryEnabled()) return -1;
+        return threads.getThreadAllocatedBytes(threadId);
+    }
+}
@@ -0,0 +1,90 @@
+package github.axolotl.metrics;
+
+import java.util.Map;
+
+/**
+ * {@link SimulationMetrics} 通过JMX暴露的属性和操作
+ * 耗时单位为ns, 时间单位为ms
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public interface SimulationMetricsMXBean {
+
+    /**
+     * 引擎推进的步数: tick、自适应步或离散事件
+     */
+    long getSteps();
+
+    /**
+     * 每秒推进的步数, 只计算模拟运行期间的耗时
+     */
+    double getStepsPerSecond();
+
+    /**
+     * 模拟运行的总耗时(ms)
+     */
+    long getElapsedMillis();
+
+    /**
+     * 当前的模拟时间(ms)
+     */
+    long getSimulatedTime();
+
+    /**
+     * 呼叫过电梯的乘客数量
+     */
+    long getPassengerCalls();
+
+    /**
+     * 当前在外等待的乘客数量
+     */
+    int getWaitingPassengers();
+
+    /**
+     * 在外等待的乘客数量的最大值
+     */
+    int getMaxWaitingPassengers();
+
+    /**
+     * 当前在电梯内的乘客数量
+     */
+    int getPassengersInElevators();
+
+    /**
+     * 模拟线程在运行期间分配的字节数, JVM不支持时为-1
+     */
+    long getAllocatedBytes();
+
+    /**
+     * 每秒分配的字节数, JVM不支持时为-1
+     */
+    double getAllocationRate();
+
+    /**
+     * 各项耗时的次数, 键为耗时的名称
+     * elevatorTick在tick模拟中是每次 Elevator.doTick, 在自适应步长和离散事件引擎中是每一步每部电梯的推进和停靠检查
+     */
+    Map<String, Long> getLatencyCounts();
+
+    /**
+     * 各项耗时的平均值(ns)
+     */
+    Map<String, Double> getMeanLatencyNanos();
+
+    /**
+     * 各项耗时的99分位数(ns)
+     */
+    Map<String, Long> getP99LatencyNanos();
+
+    /**
+     * 以文本形式输出所有指标
+     */
+    String dump();
+
+    /**
+     * 清空所有计数和耗时, 运行期间在模拟的下一步生效
+     */
+    void reset();
+}
@@ -0,0 +1,163 @@
+package github.axolotl.model;
+
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.elevator.Building;
+import github.axolotl.elevator.SimulationSnapshot;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.event.sink.CountingEventSink;
+import github.axolotl.passenger.Passenger;
+import github.axolotl.passenger.PassengerStore;
+import github.axolotl.statistics.PassengerStatistics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 从共同的前缀分出多个算法的模拟
+ * 比较算法时前面的时段(例如高峰前的平峰期)对所有算法都一样, 不需要每个算法各跑一遍:
+ * 先用前缀算法把每个种子的模拟运行到分叉时间, 把状态保存为内存中的 {@link SimulationSnapshot},
+ * 再为每个算法创建新的建筑、恢复快照、继续运行到结束。所有分支看到的历史完全相同。
+ * <p>
+ * 结果中的统计只包含分叉时间之后离开电梯的乘客, 即由分支算法完成运送的乘客。
+ * <pre>
+ * ForkRunner runner = new ForkRunner("modelB", TestModel::createModelB, Algorithm_LOOK::new, 50_000_000);
+ * runner.addAlgorithm("LOOK", Algorithm_LOOK::new).addAlgorithm("SSTF", Algorithm_SSTF::new);
+ * runner.addSeed(1);
+ * ScenarioRunner.printSummary(runner.run());
+ * </pre>
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class ForkRunner {
+    private final String modelName;
+    private final ScenarioRunner.ModelFactory model;
+    private final Supplier<ElevatorSchedulingAlgorithm> prefixAlgorithm;
+    private final long forkTime;
+    private final Map<String, Supplier<ElevatorSchedulingAlgorithm>> algorithms = new LinkedHashMap<>();
+    private final List<Long> seeds = new ArrayList<>();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean eventDriven = false;//是否使用离散事件引擎
+
+    /**
+     * @param prefixAlgorithm 前缀使用的调度算法
+     * @param forkTime        分叉时间(ms), 前缀运行到这个时间为止
+     */
+    public ForkRunner(String modelName, ScenarioRunner.ModelFactory model,
+                      Supplier<ElevatorSchedulingAlgorithm> prefixAlgorithm, long forkTime) {
+        this.modelName = modelName;
+        this.model = model;
+        this.prefixAlgorithm = prefixAlgorithm;
+        this.forkTime = forkTime;
+    }
+
+    /**
+     * @param factory 每个分支调用一次, 得到独立的算法实例
+     */
+    public ForkRunner addAlgorithm(String name, Supplier<ElevatorSchedulingAlgorithm> factory) {
+        algorithms.put(name, factory);
+        return this;
+    }
+
+    public ForkRunner addSeed(long seed) {
+        seeds.add(seed);
+        return this;
+    }
+
+    public ForkRunner setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ForkRunner setEventDriven(boolean eventDriven) {
+        this.eventDriven = eventDriven;
+        return this;
+    }
+
+    /**
+     * 每个种子运行一次前缀, 再从前缀分出每个算法
+     *
+     * @return 按种子、算法的添加顺序排列的结果, 耗时只包含分支的运行时间
+     */
+    public List<ScenarioRunner.Result> run() {
+        if (seeds.isEmpty()) throw new IllegalStateException("至少需要一个种子");
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Callable<byte[]>> prefixes = new ArrayList<>();
+            for (long seed : seeds) {
+                prefixes.add(() -> runPrefix(seed));
+            }
+            List<Future<byte[]>> snapshots = pool.invokeAll(prefixes);
+
+            List<Callable<ScenarioRunner.Result>> branches = new ArrayList<>();
+            for (int i = 0; i < seeds.size(); i++) {
+                long seed = seeds.get(i);
+                byte[] snapshot = snapshots.get(i).get();
+                for (Map.Entry<String, Supplier<ElevatorSchedulingAlgorithm>> algorithm : algorithms.entrySet()) {
+                    branches.add(() -> runBranch(algorithm.getKey(), algorithm.getValue(), seed, snapshot));
+                }
+            }
+
+            List<ScenarioRunner.Result> results = new ArrayList<>(branches.size());
+            for (Future<ScenarioRunner.Result> future : pool.invokeAll(branches)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("分支运行被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("分支运行失败", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private byte[] runPrefix(long seed) {
+        Building building = model.create(prefixAlgorithm.get(), new EventRecoder(new CountingEventSink()));
+        if (forkTime > building.getDuration()) throw new IllegalStateException("分叉时间超过了模拟时长");
+        building.seed(seed);
+        building.setDuration(forkTime);
+        simulate(building);
+        return SimulationSnapshot.toBytes(building);
+    }
+
+    private ScenarioRunner.Result runBranch(String algorithmName, Supplier<ElevatorSchedulingAlgorithm> algorithm,
+                                            long seed, byte[] snapshot) {
+        long start = System.nanoTime();
+        EventRecoder eventRecoder = new EventRecoder(new CountingEventSink());
+        Building building = model.create(algorithm.get(), eventRecoder);
+        SimulationSnapshot.restore(building, snapshot);
+        simulate(building);
+        eventRecoder.close();
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return new ScenarioRunner.Result(modelName, algorithmName, seed,
+                statisticsAfter(building.getPassengerStore(), forkTime), elapsed);
+    }
+
+    private void simulate(Building building) {
+        if (eventDriven) building.startEventSimulation();
+        else building.startSimulation();
+    }
+
+    /**
+     * 在time之后离开电梯的乘客的统计
+     */
+    static PassengerStatistics statisticsAfter(PassengerStore store, long time) {
+        PassengerStatistics statistics = new PassengerStatistics();
+        for (Passenger passenger : store.finished()) {
+            if (passenger.getAlightTime() > time) statistics.record(passenger);
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,233 @@
+package github.axolotl.model;
+
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.statistics.PassengerStatistics;
+import github.axolotl.statistics.RunningStatistics;
+import github.axolotl.util.AntitheticRandom;
+import github.axolotl.util.SplitMixRandom;
+import github.axolotl.util.TextAlign;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 蒙特卡洛重复实验
+ * 用不同的种子独立重复运行同一个场景, 每次运行的平均等待时间、平均乘梯时间、平均总时间作为一个观测值,
+ * 在线累加均值和方差, 所有指标的置信区间半宽都不超过均值的指定比例时停止。
+ * 每批运行 {@link #setBatchSize} 个观测值, 批内并行, 批间检查是否停止,
+ * 所以运行次数和结果只取决于种子和批大小, 与并行度无关。
+ * <p>
+ * 开启对偶变量法后, 每个种子分别用原始随机数流和 {@link AntitheticRandom} 各运行一次,
+ * 两次结果的平均值作为一个观测值, 两次运行负相关时达到同样精度需要的运行次数更少。
+ * <pre>
+ * ReplicationRunner.Report report = new ReplicationRunner(TestModel::createModelA, Algorithm_LOOK::new)
+ *         .setRelativeWidth(0.02)
+ *         .setAntithetic(true)
+ *         .run();
+ * ReplicationRunner.printReport(report);
+ * </pre>
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class ReplicationRunner {
+    private static final String[] METRICS = {"平均等待时间", "平均乘梯时间", "平均总时间"};
+    private static final List<ToDoubleFunction<PassengerStatistics>> EXTRACTORS = List.of(
+            s -> s.getWaitingTime().getMean(),
+            s -> s.getRideTime().getMean(),
+            s -> s.getJourneyTime().getMean());
+
+    private final ScenarioRunner.ModelFactory model;
+    private final Supplier<ElevatorSchedulingAlgorithm> algorithm;
+    private long seed = 0;//生成每次运行种子的种子
+    private double confidence = 0.95;//置信水平
+    private double relativeWidth = 0.05;//目标置信区间半宽与均值之比
+    private int minReplications = 10;
+    private int maxReplications = 1000;
+    private int batchSize = 10;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean antithetic = false;//是否使用对偶变量法
+    private boolean eventDriven = false;//是否使用离散事件引擎
+
+    /**
+     * 一个指标的估计
+     *
+     * @param name       指标名称
+     * @param statistics 各观测值的统计, 单位ms
+     * @param halfWidth  置信区间半宽(ms)
+     */
+    public record Estimate(String name, RunningStatistics statistics, double halfWidth) {
+        public double mean() {
+            return statistics.getMean();
+        }
+    }
+
+    /**
+     * 重复实验的结果
+     *
+     * @param replications 观测值数量, 使用对偶变量法时为运行次数的一半
+     * @param runs         模型运行次数
+     * @param converged    是否在达到最大观测值数量前满足了精度要求
+     * @param estimates    各指标的估计
+     * @param pooled       所有运行的乘客统计合并后的结果
+     * @param elapsed      总耗时(ms)
+     */
+    public record Report(long replications, long runs, boolean converged, List<Estimate> estimates,
+                         PassengerStatistics pooled, long elapsed) {
+    }
+
+    /**
+     * @param algorithm 每次运行调用一次, 得到独立的算法实例
+     */
+    public ReplicationRunner(ScenarioRunner.ModelFactory model, Supplier<ElevatorSchedulingAlgorithm> algorithm) {
+        this.model = model;
+        this.algorithm = algorithm;
+    }
+
+    public ReplicationRunner setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public ReplicationRunner setConfidence(double confidence) {
+        if (confidence <= 0 || confidence >= 1) throw new IllegalArgumentException("置信水平需要在(0,1)之间");
+        this.confidence = confidence;
+        return this;
+    }
+
+    /**
+     * @param relativeWidth 置信区间半宽与均值之比, 例如0.05表示±5%
+     */
+    public ReplicationRunner setRelativeWidth(double relativeWidth) {
+        this.relativeWidth = relativeWidth;
+        return this;
+    }
+
+    /**
+     * @param minReplications 至少需要的观测值数量, 不少于2
+     */
+    public ReplicationRunner setMinReplications(int minReplications) {
+        this.minReplications = Math.max(2, minReplications);
+        return this;
+    }
+
+    public ReplicationRunner setMaxReplications(int maxReplications) {
+        this.maxReplications = maxReplications;
+        return this;
+    }
+
+    public ReplicationRunner setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+        return this;
+    }
+
+    public ReplicationRunner setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ReplicationRunner setAntithetic(boolean antithetic) {
+        this.antithetic = antithetic;
+        return this;
+    }
+
+    public ReplicationRunner setEventDriven(boolean eventDriven) {
+        this.eventDriven = eventDriven;
+        return this;
+    }
+
+    /**
+     * 重复运行直到所有指标满足精度要求或达到最大观测值数量
+     */
+    public Report run() {
+        long start = System.nanoTime();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<RunningStatistics> statistics = new ArrayList<>();
+        for (int i = 0; i < METRICS.length; i++) statistics.add(new RunningStatistics());
+        PassengerStatistics pooled = new PassengerStatistics();
+        long replications = 0;
+        long runs = 0;
+        boolean converged = false;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            while (replications < maxReplications) {
+                int batch = (int) Math.min(batchSize, maxReplications - replications);
+                List<Callable<PassengerStatistics>> jobs = new ArrayList<>();
+                for (int i = 0; i < batch; i++) {
+                    long runSeed = seeds.nextLong();
+                    jobs.add(() -> ScenarioRunner.simulate(model, algorithm.get(), new SplitMixRandom(runSeed), eventDriven));
+                    if (antithetic) {
+                        jobs.add(() -> ScenarioRunner.simulate(model, algorithm.get(),
+                                new AntitheticRandom(new SplitMixRandom(runSeed)), eventDriven));
+                    }
+                }
+
+                List<Future<PassengerStatistics>> futures = pool.invokeAll(jobs);
+                int perReplication = antithetic ? 2 : 1;
+                for (int i = 0; i < futures.size(); i += perReplication) {
+                    PassengerStatistics first = futures.get(i).get();
+                    PassengerStatistics second = antithetic ? futures.get(i + 1).get() : first;
+                    for (int m = 0; m < METRICS.length; m++) {
+                        ToDoubleFunction<PassengerStatistics> extractor = EXTRACTORS.get(m);
+                        statistics.get(m).record((extractor.applyAsDouble(first) + extractor.applyAsDouble(second)) / 2);
+                    }
+                    pooled.merge(first);
+                    if (antithetic) pooled.merge(second);
+                }
+                replications += batch;
+                runs += jobs.size();
+
+                if (replications >= minReplications && isPrecise(statistics)) {
+                    converged = true;
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("重复实验被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("重复实验运行失败", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Estimate> estimates = new ArrayList<>();
+        for (int m = 0; m < METRICS.length; m++) {
+            estimates.add(new Estimate(METRICS[m], statistics.get(m), statistics.get(m).getHalfWidth(confidence)));
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return new Report(replications, runs, converged, estimates, pooled, elapsed);
+    }
+
+    private boolean isPrecise(List<RunningStatistics> statistics) {
+        for (RunningStatistics s : statistics) {
+            if (!(s.getRelativeHalfWidth(confidence) <= relativeWidth)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 输出各指标的均值和置信区间, 时间单位为秒
+     */
+    public static void printReport(Report report) {
+        System.out.printf("观测值 %d, 运行 %d 次, %s, 耗时 %dms\n", report.replications(), report.runs(),
+                report.converged() ? "已达到精度要求" : "未达到精度要求", report.elapsed());
+        System.out.println(TextAlign.left("", 10) + TextAlign.right("均值", 10) + TextAlign.right("±半宽", 10)
+                + TextAlign.right("相对半宽", 10));
+        for (Estimate estimate : report.estimates()) {
+            System.out.printf("%s%10.3f%10.3f%9.2f%%\n", TextAlign.left(estimate.name(), 10),
+                    estimate.mean() / 1000.0,
+                    estimate.halfWidth() / 1000.0,
+                    estimate.halfWidth() / Math.abs(estimate.mean()) * 100);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package github.axolotl.model;
+
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.elevator.Building;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.event.sink.CountingEventSink;
+import github.axolotl.statistics.LatencyHistogram;
+import github.axolotl.statistics.PassengerStatistics;
+import github.axolotl.util.SplitMixRandom;
+import github.axolotl.util.TextAlign;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * 并行运行多个场景
+ * 场景是(模型, 算法, 种子)的组合, 每个场景有自己的Building、EventRecoder和算法实例,
+ * 在ForkJoinPool中并行运行, 固定种子后结果与并行度无关。
+ * 事件只计数不保留, 统计数据来自 {@link PassengerStatistics}。
+ * <pre>
+ * ScenarioRunner runner = new ScenarioRunner();
+ * runner.addModel("modelA", TestModel::createModelA);
+ * runner.addAlgorithm("LOOK", Algorithm_LOOK::new);
+ * runner.addSeed(1);
+ * ScenarioRunner.printSummary(runner.run());
+ * </pre>
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class ScenarioRunner {
+    private final Map<String, ModelFactory> models = new LinkedHashMap<>();
+    private final Map<String, Supplier<ElevatorSchedulingAlgorithm>> algorithms = new LinkedHashMap<>();
+    private final List<Long> seeds = new ArrayList<>();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean eventDriven = false;//是否使用离散事件引擎
+
+    /**
+     * 创建模型, 不运行, 与 {@link TestModel#createModelA} 等方法的签名相同
+     */
+    @FunctionalInterface
+    public interface ModelFactory {
+        Building create(ElevatorSchedulingAlgorithm schedulingAlgorithm, EventRecoder eventRecoder);
+    }
+
+    /**
+     * 一个场景的运行结果
+     *
+     * @param elapsed 运行耗时(ms)
+     */
+    public record Result(String model, String algorithm, long seed, PassengerStatistics statistics, long elapsed) {
+    }
+
+    public ScenarioRunner addModel(String name, ModelFactory factory) {
+        models.put(name, factory);
+        return this;
+    }
+
+    /**
+     * @param factory 每个场景调用一次, 得到独立的算法实例
+     */
+    public ScenarioRunner addAlgorithm(String name, Supplier<ElevatorSchedulingAlgorithm> factory) {
+        algorithms.put(name, factory);
+        return this;
+    }
+
+    public ScenarioRunner addSeed(long seed) {
+        seeds.add(seed);
+        return this;
+    }
+
+    public ScenarioRunner setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ScenarioRunner setEventDriven(boolean eventDriven) {
+        this.eventDriven = eventDriven;
+        return this;
+    }
+
+    /**
+     * 运行所有的(模型, 算法, 种子)组合
+     *
+     * @return 按模型、算法、种子的添加顺序排列的结果
+     */
+    public List<Result> run() {
+        if (seeds.isEmpty()) throw new IllegalStateException("至少需要一个种子");
+
+        List<Callable<Result>> jobs = new ArrayList<>();
+        for (Map.Entry<String, ModelFactory> model : models.entrySet()) {
+            for (Map.Entry<String, Supplier<ElevatorSchedulingAlgorithm>> algorithm : algorithms.entrySet()) {
+                for (long seed : seeds) {
+                    jobs.add(() -> runScenario(model.getKey(), model.getValue(), algorithm.getKey(), algorithm.getValue(), seed));
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Result> results = new ArrayList<>(jobs.size());
+            for (Future<Result> future : pool.invokeAll(jobs)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("场景运行被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("场景运行失败", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Result runScenario(String modelName, ModelFactory model, String algorithmName,
+                               Supplier<ElevatorSchedulingAlgorithm> algorithm, long seed) {
+        long start = System.nanoTime();
+        PassengerStatistics statistics = simulate(model, algorithm.get(), new SplitMixRandom(seed), eventDriven);
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return new Result(modelName, algorithmName, seed, statistics, elapsed);
+    }
+
+    /**
+     * 用指定的随机数流运行一次模型, 事件只计数不保留
+     */
+    static PassengerStatistics simulate(ModelFactory model, ElevatorSchedulingAlgorithm algorithm,
+                                        SplittableGenerator random, boolean eventDriven) {
+        EventRecoder eventRecoder = new EventRecoder(new CountingEventSink());
+        Building building = model.create(algorithm, eventRecoder);
+        building.seed(random);
+
+        if (eventDriven) building.startEventSimulation();
+        else building.startSimulation();
+        eventRecoder.close();
+        return eventRecoder.getStatistics();
+    }
+
+    /**
+     * 输出结果汇总表, 时间单位为秒
+     */
+    public static void printSummary(List<Result> results) {
+        String[] headers = {"平均等待", "p90等待", "p99等待", "平均乘梯", "平均总时间", "p99总时间", "耗时(ms)"};
+        StringBuilder header = new StringBuilder()
+                .append(TextAlign.left("模型", 10)).append(TextAlign.left("算法", 8))
+                .append(TextAlign.right("种子", 8)).append(TextAlign.right("乘客数", 8));
+        for (String name : headers) {
+            header.append(TextAlign.right(name, 12));
+        }
+        System.out.println(header);
+        for (Result result : results) {
+            LatencyHistogram waiting = result.statistics().getWaitingTime();
+            LatencyHistogram ride = result.statistics().getRideTime();
+            LatencyHistogram journey = result.statistics().getJourneyTime();
+            System.out.printf("%s%s%8d%8d%12.2f%12.2f%12.2f%12.2f%12.2f%12.2f%12d\n",
+                    TextAlign.left(result.model(), 10), TextAlign.left(result.algorithm(), 8), result.seed(), result.statistics().getCount(),
+                    waiting.getMean() / 1000.0,
+                    waiting.getValueAtPercentile(90) / 1000.0,
+                    waiting.getValueAtPercentile(99) / 1000.0,
+                    ride.getMean() / 1000.0,
+                    journey.getMean() / 1000.0,
+                    journey.getValueAtPercentile(99) / 1000.0,
+                    result.elapsed());
+        }
+    }
+}
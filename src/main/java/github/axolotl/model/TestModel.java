@@ -3,18 +3,16 @@ package github.axolotl.model;
 import github.axolotl.algorithm.Algorithm_FCFS;
 import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
 import github.axolotl.elevator.Building;
-import github.axolotl.event.ElevatorEvent;
 import github.axolotl.event.EventRecoder;
-import github.axolotl.event.EventType;
-import github.axolotl.passenger.Passenger;
+import github.axolotl.event.sink.EventSink;
+import github.axolotl.event.sink.InMemoryEventSink;
 import github.axolotl.passenger.PassengerGenerator;
 import github.axolotl.passenger.rule.LimitedFloorRule;
 import github.axolotl.passenger.rule.PeakTimeMultiFloorRule;
 import github.axolotl.passenger.rule.TimeBasedRule;
+import github.axolotl.statistics.PassengerStatistics;
 import github.axolotl.util.ExcelExporter;
 
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * @author AxolotlXM
@@ -26,8 +24,27 @@ public class TestModel {
     private static final int INTERVAL = 100;
     //商城模型
     public static void modelA(ElevatorSchedulingAlgorithm schedulingAlgorithm,String fileName) {
+        modelA(schedulingAlgorithm, fileName, new InMemoryEventSink());
+    }
+
+    /**
+     * @param sink 事件的去向, 长时间运行时可以使用不保留全部事件的sink
+     */
+    public static void modelA(ElevatorSchedulingAlgorithm schedulingAlgorithm, String fileName, EventSink sink) {
         // 创建事件记录器
-        EventRecoder eventRecoder = new EventRecoder();
+        EventRecoder eventRecoder = new EventRecoder(sink);
+        Building building = createModelA(schedulingAlgorithm, eventRecoder);
+
+        building.startSimulation();
+        eventRecoder.close();
+
+        collectData(fileName, building, eventRecoder);
+    }
+
+    /**
+     * 创建商城模型, 不运行
+     */
+    public static Building createModelA(ElevatorSchedulingAlgorithm schedulingAlgorithm, EventRecoder eventRecoder) {
         Building building = new Building(200000_000, 5, 3.0, INTERVAL, eventRecoder);
 
         PassengerGenerator generator = new PassengerGenerator();
@@ -38,10 +55,7 @@ public class TestModel {
 
         building.addElevator(elevator);
         building.addPassengerGenerators(generator);
-
-        building.startSimulation();
-
-        collectData(fileName, eventRecoder);
+        return building;
     }
     
     /**
@@ -49,8 +63,27 @@ public class TestModel {
      * 模拟上班高峰期，多个楼层的居民前往一楼出行
      */
     public static void modelB(ElevatorSchedulingAlgorithm schedulingAlgorithm, String fileName) {
+        modelB(schedulingAlgorithm, fileName, new InMemoryEventSink());
+    }
+
+    /**
+     * @param sink 事件的去向, 长时间运行时可以使用不保留全部事件的sink
+     */
+    public static void modelB(ElevatorSchedulingAlgorithm schedulingAlgorithm, String fileName, EventSink sink) {
         // 创建事件记录器
-        EventRecoder eventRecoder = new EventRecoder();
+        EventRecoder eventRecoder = new EventRecoder(sink);
+        Building building = createModelB(schedulingAlgorithm, eventRecoder);
+        
+        building.startSimulation();
+        eventRecoder.close();
+        
+        collectData(fileName, building, eventRecoder);
+    }
+
+    /**
+     * 创建公寓楼高峰期模型, 不运行
+     */
+    public static Building createModelB(ElevatorSchedulingAlgorithm schedulingAlgorithm, EventRecoder eventRecoder) {
         // 10层公寓楼
         Building building = new Building(200000_000, 10, 3.0, INTERVAL, eventRecoder);
         
@@ -69,18 +102,34 @@ public class TestModel {
         
         building.addElevator(elevator);
         building.addPassengerGenerators(generator);
-        
-        building.startSimulation();
-        
-        collectData(fileName, eventRecoder);
+        return building;
     }
     
     /**
      * 晚高峰模型 - 一楼去往多个楼层，也有少量相反方向的人流
      */
     public static void modelC(ElevatorSchedulingAlgorithm schedulingAlgorithm, String fileName) {
+        modelC(schedulingAlgorithm, fileName, new InMemoryEventSink());
+    }
+
+    /**
+     * @param sink 事件的去向, 长时间运行时可以使用不保留全部事件的sink
+     */
+    public static void modelC(ElevatorSchedulingAlgorithm schedulingAlgorithm, String fileName, EventSink sink) {
         // 创建事件记录器
-        EventRecoder eventRecoder = new EventRecoder();
+        EventRecoder eventRecoder = new EventRecoder(sink);
+        Building building = createModelC(schedulingAlgorithm, eventRecoder);
+        
+        building.startSimulation();
+        eventRecoder.close();
+        
+        collectData(fileName, building, eventRecoder);
+    }
+
+    /**
+     * 创建晚高峰模型, 不运行
+     */
+    public static Building createModelC(ElevatorSchedulingAlgorithm schedulingAlgorithm, EventRecoder eventRecoder) {
         // 15层办公楼
         Building building = new Building(200000_000, 15, 3.0, INTERVAL, eventRecoder);
         
@@ -91,7 +140,7 @@ public class TestModel {
         generator.addRule(new TimeBasedRule(
                 100000_000, 150000_000,  // 高峰期时间段
                 25_000, 50_000,         // 非高峰期间隔
-                230_000, 30_000,          // 高峰期间隔
+                20_000, 30_000,          // 高峰期间隔
                 1, 0,                   // 主要出发楼层(1)和目标楼层(随机，由代码计算)
                 0.15));                  // 15%的概率是反向行驶的乘客
         
@@ -100,44 +149,28 @@ public class TestModel {
         
         building.addElevator(elevator);
         building.addPassengerGenerators(generator);
-        
-        building.startSimulation();
-        
-        collectData(fileName, eventRecoder);
+        return building;
     }
 
 
     /**
      * 收集和导出数据
+     * 统计数据在模拟过程中在线计算, 总是完整的; 导出的乘客数据来自建筑的乘客存储, 与sink是否保留事件无关
      */
-    private static void collectData(String fileName, EventRecoder eventRecoder) {
-        // 收集测试乘客
-        List<Passenger> testPassengers;
-        testPassengers = eventRecoder.getEvents().stream()
-                .filter(event -> event.getType() == EventType.PassengerFinishElevator)
-                .map(event -> ((ElevatorEvent) event).getPassenger())
-                .toList();
-
+    private static void collectData(String fileName, Building building, EventRecoder eventRecoder) {
+        PassengerStatistics statistics = eventRecoder.getStatistics();
 
         // 输出统计数据
         System.out.println("\n模拟结束，结果统计：");
-        double totalWaitingTime = 0;
-        double totalRideTime = 0;
-
-        for (Passenger passenger : testPassengers) {
-/*            System.out.printf("乘客从%d楼到%d楼 - 等待时间: %.2f秒, 乘梯时间: %.2f秒\n",
-                    passenger.getOriginFloor(), passenger.getTargetFloor(),
-                    passenger.getWaitingTime() / 1000.0, passenger.getArriveTime() / 1000.0);*/
-
-            totalWaitingTime += passenger.getWaitingTime();
-            totalRideTime += passenger.getArriveTime();
+        System.out.println("事件统计: " + eventRecoder.getEventStatistics());
+        if (statistics.getCount() > 0) {
+            System.out.printf("\n平均等待时间: %.2f秒\n", statistics.getWaitingTime().getMean() / 1000.0);
+            System.out.printf("平均乘梯时间: %.2f秒\n", statistics.getRideTime().getMean() / 1000.0);
+            statistics.print();
         }
 
-        System.out.printf("\n平均等待时间: %.2f秒\n", totalWaitingTime / 1000.0 / testPassengers.size());
-        System.out.printf("平均乘梯时间: %.2f秒\n", totalRideTime / 1000.0 / testPassengers.size());
-
-        // 导出数据
-        ExcelExporter.exportPassengerData(testPassengers, "simulation_results/"+ fileName +"_results.xlsx");
+        // 导出数据, 按乘客离开电梯的顺序
+        ExcelExporter.exportPassengerDataStreaming(building.getPassengerStore(), "simulation_results/"+ fileName +"_results.xlsx");
         ExcelExporter.exportEventsToTxt(eventRecoder, "simulation_results/"+ fileName +"_events.txt");
     }
 }
@@ -0,0 +1,84 @@
+package github.axolotl.passenger;
+
+import github.axolotl.elevator.Building;
+import github.axolotl.passenger.rule.PassengerGenerationRule;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * 所有生成器中所有规则的合并到达时间表
+ * 用一个按下一次生成时间排序的最小堆代替每个tick轮询每个规则: 堆顶没有到期时什么都不做,
+ * 到期时只取出到期的规则, 生成后按规则新的下一次生成时间放回。
+ * 放回后仍然到期的规则(间隔小于interval或落后了多个间隔)会在同一次调用中继续生成, 不会每个tick只生成一个。
+ * <p>
+ * 同一时间到期的规则按生成器和规则的添加顺序生成。
+ * 无法预知下一次时间的规则(见 {@link PassengerGenerationRule#nextGenerateTime})每个interval轮询一次。
+ * <p>
+ * 时间表在模拟开始时根据规则当前的状态建立, 之后只有生成乘客会改变规则的时间,
+ * 所以 {@link Building#seed}、从快照恢复等都需要在开始模拟前完成。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class ArrivalSchedule {
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong((Entry e) -> e.time)
+            .thenComparingInt(e -> e.order);
+
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(ORDER);
+    private final long interval;
+
+    private static final class Entry {
+        private final PassengerGenerationRule rule;
+        private final int order;//添加顺序, 时间相同时先添加的先生成
+        private long time;//下一次需要处理这个规则的时间
+
+        private Entry(PassengerGenerationRule rule, int order, long time) {
+            this.rule = rule;
+            this.order = order;
+            this.time = time;
+        }
+    }
+
+    public ArrivalSchedule(Building building) {
+        this.interval = building.getInterval();
+        long currentTime = building.getCurrentTime();
+        int order = 0;
+        for (PassengerGenerator generator : building.getPassengerGenerators()) {
+            for (PassengerGenerationRule rule : generator.getRules()) {
+                heap.add(new Entry(rule, order++, rule.nextGenerateTime(currentTime)));
+            }
+        }
+    }
+
+    /**
+     * 最早的到达时间, 没有更多到达时返回Long.MAX_VALUE
+     */
+    public long nextTime() {
+        Entry first = heap.peek();
+        return first == null ? Long.MAX_VALUE : first.time;
+    }
+
+    /**
+     * 生成到当前时间为止所有到期的乘客
+     *
+     * @return 生成的乘客数量
+     */
+    public int release(Building building) {
+        long currentTime = building.getCurrentTime();
+        int count = 0;
+        Entry entry;
+        while ((entry = heap.peek()) != null && entry.time <= currentTime) {
+            heap.poll();
+            int generated = entry.rule.generateDue(building);
+            long next = entry.rule.nextGenerateTime(currentTime);
+            //时间没有前进(无法预知的规则), 或者声明到期却没有生成, 下一个interval再处理, 避免在这里死循环
+            if (next <= entry.time || (generated == 0 && next <= currentTime)) next = currentTime + interval;
+            entry.time = next;
+            heap.add(entry);
+            count += generated;
+        }
+        return count;
+    }
+}
@@ -2,44 +2,109 @@ package github.axolotl.passenger;
 
 import github.axolotl.elevator.Building;
 import github.axolotl.elevator.Direction;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
+ * 乘客
+ * 呼叫电梯前只有起始楼层和目标楼层, 呼叫时登记到建筑的 {@link PassengerStore} 中,
+ * 之后的呼叫、进入、离开时间都保存在存储的列中, 这个对象只是存储中一行的视图。
+ *
  * @author AxolotlXM
  * @version 1.0
  * @since 2025/4/12 20:41
  */
 @Data
 public class Passenger {
+    @Setter(AccessLevel.NONE)
+    private int id = -1;//在建筑中的编号, 呼叫电梯时分配
     private final int originFloor;
     private final int targetFloor;
-    private Direction direction;//借用这个的UP共和DOWN表示乘客的按下
-    private long waitingTime = 0;//总共等待时长
-    private long arriveTime = 0;//乘坐电梯时间
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PassengerStore store;//呼叫电梯后保存乘客数据的存储
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private int assignedElevator = -1;//群控时负责接这个乘客的电梯的下标, 只在等待期间有意义
 
     public Passenger(int originFloor, int targetFloor) {
         this.originFloor = originFloor;
         this.targetFloor = targetFloor;
 
-        if (originFloor <= targetFloor) direction = Direction.UP;//向上走
-        else direction = Direction.DOWN;
-
 //        System.out.printf("任务创建: 起始位置: %d, 目标位置: %d\n", originFloor, targetFloor);
     }
 
-    public void addWaitingTime(long time) {
-        this.waitingTime += time;
+    /**
+     * 存储中已有的一行的视图
+     */
+    Passenger(PassengerStore store, int id) {
+        this(store.getOriginFloor(id), store.getTargetFloor(id));
+        this.store = store;
+        this.id = id;
+    }
+
+    /**
+     * 呼叫电梯, 登记到存储中并得到编号
+     */
+    public void call(PassengerStore store, long time) {
+        this.store = store;
+        this.id = store.add(originFloor, targetFloor, time);
+    }
+
+    public void finishWait(long time) {
+        attachedStore().setBoardTime(id, time);
+//        System.out.printf("任务完成: 等待: %.2fs\n", (getWaitingTime() / 1000d));
+    }
+
+    public void finishElevator(long time) {
+        attachedStore().setAlightTime(id, time);
+//        System.out.printf("任务完成: 乘坐: %.2fs\n", (getArriveTime() / 1000d));
+    }
+
+    /**
+     * 借用UP和DOWN表示乘客的按下
+     */
+    public Direction getDirection() {
+        return originFloor <= targetFloor ? Direction.UP : Direction.DOWN;
+    }
+
+    /**
+     * 按下呼叫按钮的时间, 尚未呼叫时为-1
+     */
+    public long getCallTime() {
+        return store == null ? -1 : store.getCallTime(id);
+    }
+
+    /**
+     * 进入电梯的时间, 尚未进入时为-1
+     */
+    public long getBoardTime() {
+        return store == null ? -1 : store.getBoardTime(id);
     }
-    public void addArriveTime(long time) {
-        this.arriveTime += time;
+
+    /**
+     * 离开电梯的时间, 尚未离开时为-1
+     */
+    public long getAlightTime() {
+        return store == null ? -1 : store.getAlightTime(id);
     }
 
-    public void finishWait() {
-//        System.out.printf("任务完成: 等待: %.2fs\n", (waitingTime / 1000d));
+    /**
+     * 总共等待时长, 尚未进入电梯时为0
+     */
+    public long getWaitingTime() {
+        return store == null ? 0 : store.getWaitingTime(id);
     }
 
-    public void finishElevator() {
-//        System.out.printf("任务完成: 乘坐: %.2fs\n", (waitingTime / 1000d));
+    /**
+     * 乘坐电梯时间, 尚未离开电梯时为0
+     */
+    public long getArriveTime() {
+        return store == null ? 0 : store.getArriveTime(id);
     }
 
 
@@ -56,4 +121,9 @@ public class Passenger {
     public double getOriginFloorHeight(Building building) {
         return (originFloor - 1) * building.getFloorHeight();
     }
-}
\ No newline at end of file
+
+    private PassengerStore attachedStore() {
+        if (store == null) throw new IllegalStateException("乘客尚未呼叫电梯");
+        return store;
+    }
+}
@@ -1,11 +1,16 @@
 package github.axolotl.passenger;
 
-import github.axolotl.elevator.Building;
 import github.axolotl.event.EventRecoder;
 import github.axolotl.passenger.rule.PassengerGenerationRule;
+import github.axolotl.util.SplitMixRandom;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.random.RandomGenerator.SplittableGenerator;
 
 /**
  * @author AxolotlXM
@@ -16,17 +21,56 @@ import java.util.List;
 public class PassengerGenerator {
     private EventRecoder eventRecoder;
     private final List<PassengerGenerationRule> rules = new ArrayList<>();
+    private SplittableGenerator random;//为null时规则使用各自不固定的随机数
 
     public void addRule(PassengerGenerationRule rule) {
         rules.add(rule);
+        if (random != null) rule.seed(random.split());
     }
 
-    public void tick(Building building) {
+    /**
+     * 为生成器指定随机数流, 按添加顺序为每个规则拆分出独立的子流
+     * 之后添加的规则也会依次拆分, 所以同样的种子和同样的添加顺序总是得到同样的乘客
+     *
+     * @param random 只属于这个生成器的随机数流
+     */
+    public void seed(SplittableGenerator random) {
+        this.random = random;
         for (PassengerGenerationRule rule : rules) {
-            if (rule.shouldGenerate(building.getCurrentTime())) {
-                Passenger passenger = rule.generate(building);
-                building.passengerCall(passenger);
-            }
+            rule.seed(random.split());
         }
     }
+
+    /**
+     * 保存生成器和每个规则的状态, 用于模拟快照
+     */
+    public void writeState(DataOutput out) throws IOException {
+        SplitMixRandom.writeState(out, random);
+        out.writeInt(rules.size());
+        for (PassengerGenerationRule rule : rules) {
+            out.writeUTF(rule.getClass().getName());
+            rule.writeState(out);
+        }
+    }
+
+    /**
+     * 读取 {@link #writeState} 保存的状态, 规则需要与保存时相同
+     */
+    public void readState(DataInput in) throws IOException {
+        random = SplitMixRandom.readState(in);
+        int count = in.readInt();
+        if (count != rules.size()) throw new IOException("快照中有 " + count + " 个规则, 生成器中有 " + rules.size() + " 个");
+        for (PassengerGenerationRule rule : rules) {
+            String type = in.readUTF();
+            if (!type.equals(rule.getClass().getName())) throw new IOException("规则类型不一致: " + type);
+            rule.readState(in);
+        }
+    }
+
+    /**
+     * 按添加顺序排列的规则, 只读
+     */
+    public List<PassengerGenerationRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
 }
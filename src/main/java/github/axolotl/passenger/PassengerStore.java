@@ -0,0 +1,245 @@
+package github.axolotl.passenger;
+
+import github.axolotl.elevator.Direction;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 按列保存的乘客数据
+ * 每个字段一个基本类型数组, 用乘客编号做下标, 每个乘客约37字节, 没有对象头和引用。
+ * 乘客离开建筑后不需要保留 {@link Passenger} 对象, 长时间模拟后仍然可以从这里导出所有乘客的数据。
+ * <p>
+ * 编号按呼叫顺序从0开始连续分配, 未发生的时间为-1。另外按离开电梯的顺序记录已离开乘客的编号, 导出时与事件的顺序相同。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class PassengerStore {
+    private static final byte UP = 0;
+    private static final byte DOWN = 1;
+
+    private int size = 0;
+    private int finishedCount = 0;//已经离开电梯的乘客数量
+    private int[] originFloor;
+    private int[] targetFloor;
+    private byte[] direction;
+    private long[] callTime;
+    private long[] boardTime;
+    private long[] alightTime;
+    private int[] alightOrder;//已经离开电梯的乘客编号, 按离开顺序排列, 前finishedCount个有效
+
+    public PassengerStore() {
+        this(1024);
+    }
+
+    /**
+     * @param capacity 初始容量, 不够时自动扩容
+     */
+    public PassengerStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.originFloor = new int[capacity];
+        this.targetFloor = new int[capacity];
+        this.direction = new byte[capacity];
+        this.callTime = new long[capacity];
+        this.boardTime = new long[capacity];
+        this.alightTime = new long[capacity];
+        this.alightOrder = new int[capacity];
+    }
+
+    /**
+     * 登记一个呼叫电梯的乘客
+     *
+     * @return 乘客编号
+     */
+    public int add(int originFloor, int targetFloor, long callTime) {
+        if (size == this.originFloor.length) grow();
+        int id = size++;
+        this.originFloor[id] = originFloor;
+        this.targetFloor[id] = targetFloor;
+        this.direction[id] = originFloor <= targetFloor ? UP : DOWN;
+        this.callTime[id] = callTime;
+        this.boardTime[id] = -1;
+        this.alightTime[id] = -1;
+        return id;
+    }
+
+    private void grow() {
+        int capacity = originFloor.length * 2;
+        originFloor = Arrays.copyOf(originFloor, capacity);
+        targetFloor = Arrays.copyOf(targetFloor, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        callTime = Arrays.copyOf(callTime, capacity);
+        boardTime = Arrays.copyOf(boardTime, capacity);
+        alightTime = Arrays.copyOf(alightTime, capacity);
+        alightOrder = Arrays.copyOf(alightOrder, capacity);
+    }
+
+    public void setBoardTime(int id, long time) {
+        boardTime[check(id)] = time;
+    }
+
+    public void setAlightTime(int id, long time) {
+        if (alightTime[check(id)] < 0) alightOrder[finishedCount++] = id;
+        alightTime[id] = time;
+    }
+
+    public int getOriginFloor(int id) {
+        return originFloor[check(id)];
+    }
+
+    public int getTargetFloor(int id) {
+        return targetFloor[check(id)];
+    }
+
+    public Direction getDirection(int id) {
+        return direction[check(id)] == UP ? Direction.UP : Direction.DOWN;
+    }
+
+    public long getCallTime(int id) {
+        return callTime[check(id)];
+    }
+
+    public long getBoardTime(int id) {
+        return boardTime[check(id)];
+    }
+
+    public long getAlightTime(int id) {
+        return alightTime[check(id)];
+    }
+
+    /**
+     * 等待时长, 尚未进入电梯时为0
+     */
+    public long getWaitingTime(int id) {
+        long board = boardTime[check(id)];
+        return board < 0 ? 0 : board - callTime[id];
+    }
+
+    /**
+     * 乘坐电梯时间, 尚未离开电梯时为0
+     */
+    public long getArriveTime(int id) {
+        long alight = alightTime[check(id)];
+        return alight < 0 ? 0 : alight - boardTime[id];
+    }
+
+    /**
+     * 已经离开电梯的乘客
+     */
+    public boolean isFinished(int id) {
+        return alightTime[check(id)] >= 0;
+    }
+
+    /**
+     * 登记过的乘客数量
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getFinishedCount() {
+        return finishedCount;
+    }
+
+    /**
+     * 编号为id的乘客的视图, 每次调用都创建新的对象
+     */
+    public Passenger get(int id) {
+        return new Passenger(this, check(id));
+    }
+
+    /**
+     * 按呼叫顺序遍历已经离开电梯的乘客, 遍历时才创建视图对象
+     */
+    public Iterable<Passenger> finished() {
+        return () -> new Iterator<>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < size && alightTime[from] < 0) from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Passenger next() {
+                if (next >= size) throw new NoSuchElementException();
+                Passenger passenger = new Passenger(PassengerStore.this, next);
+                next = advance(next + 1);
+                return passenger;
+            }
+        };
+    }
+
+    /**
+     * 按离开电梯的顺序遍历已经离开电梯的乘客, 与 {@code PassengerFinishElevator} 事件的顺序相同
+     */
+    public Iterable<Passenger> finishedInAlightOrder() {
+        return () -> new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < finishedCount;
+            }
+
+            @Override
+            public Passenger next() {
+                if (next >= finishedCount) throw new NoSuchElementException();
+                return new Passenger(PassengerStore.this, alightOrder[next++]);
+            }
+        };
+    }
+
+    /**
+     * 按编号顺序保存所有乘客, 每个乘客32字节, 再按离开顺序保存已离开乘客的编号, 方向在读取时重新计算
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int id = 0; id < size; id++) {
+            out.writeInt(originFloor[id]);
+            out.writeInt(targetFloor[id]);
+            out.writeLong(callTime[id]);
+            out.writeLong(boardTime[id]);
+            out.writeLong(alightTime[id]);
+        }
+        out.writeInt(finishedCount);
+        for (int i = 0; i < finishedCount; i++) {
+            out.writeInt(alightOrder[i]);
+        }
+    }
+
+    /**
+     * 读取 {@link #writeState} 保存的乘客, 只能在空的存储上调用
+     */
+    public void readState(DataInput in) throws IOException {
+        if (size != 0) throw new IllegalStateException("只能恢复到空的乘客存储");
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int id = add(in.readInt(), in.readInt(), in.readLong());
+            boardTime[id] = in.readLong();
+            alightTime[id] = in.readLong();
+        }
+        int finished = in.readInt();
+        for (int i = 0; i < finished; i++) {
+            int id = check(in.readInt());
+            if (alightTime[id] < 0) throw new IOException("乘客 " + id + " 没有离开电梯");
+            alightOrder[finishedCount++] = id;
+        }
+    }
+
+    private int check(int id) {
+        if (id < 0 || id >= size) throw new IndexOutOfBoundsException("乘客编号不存在: " + id);
+        return id;
+    }
+}
@@ -2,8 +2,12 @@ package github.axolotl.passenger.rule;
 
 import github.axolotl.elevator.Building;
 import github.axolotl.passenger.Passenger;
+import github.axolotl.util.SplitMixRandom;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator.SplittableGenerator;
 
 /**
  * @author AxolotlXM
@@ -17,13 +21,32 @@ public class LimitedFloorRule implements PassengerGenerationRule {
     private final int minFloor;
     private final int maxFloor;
     private long nextGenTime = 0;
+    private SplittableGenerator random = new SplitMixRandom();//未指定随机数流时不可复现
 
     public LimitedFloorRule(int minInterval, int maxInterval, int minFloor, int maxFloor) {
         this.minInterval = minInterval;
         this.maxInterval = maxInterval;
         this.minFloor = minFloor;
         this.maxFloor = maxFloor;
-        this.nextGenTime = ThreadLocalRandom.current().nextInt(minInterval, maxInterval);
+        this.nextGenTime = random.nextInt(minInterval, maxInterval);
+    }
+
+    @Override
+    public void seed(SplittableGenerator random) {
+        this.random = random;
+        this.nextGenTime = random.nextInt(minInterval, maxInterval);
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(nextGenTime);
+        SplitMixRandom.writeState(out, random);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        nextGenTime = in.readLong();
+        random = SplitMixRandom.readState(in);
     }
 
     @Override
@@ -31,12 +54,17 @@ public class LimitedFloorRule implements PassengerGenerationRule {
         return currentTime >= nextGenTime;
     }
 
+    @Override
+    public long nextGenerateTime(long currentTime) {
+        return nextGenTime;
+    }
+
     @Override
     public Passenger generate(Building building) {
-        nextGenTime += ThreadLocalRandom.current().nextInt(minInterval, maxInterval);
+        nextGenTime += random.nextInt(minInterval, maxInterval);
 
-        int startFloor = ThreadLocalRandom.current().nextInt(minFloor, maxFloor + 1);
-        int destFloor = ThreadLocalRandom.current().nextInt(minFloor, maxFloor );
+        int startFloor = random.nextInt(minFloor, maxFloor + 1);
+        int destFloor = random.nextInt(minFloor, maxFloor );
         if (destFloor >= startFloor)
             destFloor++;//使得不会重复到自己
 
@@ -6,6 +6,11 @@ import github.axolotl.event.EventType;
 import github.axolotl.event.PassengerEvent;
 import github.axolotl.passenger.Passenger;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
 /**
  * @author AxolotlXM
  * @version 1.0
@@ -15,4 +20,49 @@ public interface PassengerGenerationRule {
     boolean shouldGenerate(long currentTime);
     Passenger generate(Building building);
 
+    /**
+     * 生成当前时间到期的乘客并交给建筑
+     * 默认每次最多生成一个, 一个时间步内可能有多个到达的规则(例如 {@link TraceReplayRule})需要覆盖这个方法
+     *
+     * @return 生成的乘客数量
+     */
+    default int generateDue(Building building) {
+        if (!shouldGenerate(building.getCurrentTime())) return 0;
+        building.passengerCall(generate(building));
+        return 1;
+    }
+
+    /**
+     * 下一次生成乘客的时间
+     * 默认无法预知, 返回当前时间, 事件驱动模拟会按interval继续轮询该规则
+     *
+     * @param currentTime 当前模拟时间
+     * @return 下一次生成乘客的时间(ms)
+     */
+    default long nextGenerateTime(long currentTime) {
+        return currentTime;
+    }
+
+    /**
+     * 为规则指定独立的随机数流, 并按新的流重新抽取第一次生成的时间
+     * 需要在模拟开始前调用, 不使用随机数的规则可以忽略
+     *
+     * @param random 只属于这个规则的随机数流
+     */
+    default void seed(SplittableGenerator random) {
+    }
+
+    /**
+     * 保存规则在模拟过程中变化的状态(下一次生成的时间、随机数流等), 用于模拟快照
+     * 构造参数不需要保存, 恢复时规则由同样的代码重新创建
+     */
+    default void writeState(DataOutput out) throws IOException {
+    }
+
+    /**
+     * 读取 {@link #writeState} 保存的状态
+     */
+    default void readState(DataInput in) throws IOException {
+    }
+
 }
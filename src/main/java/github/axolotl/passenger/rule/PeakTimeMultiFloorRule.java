@@ -2,8 +2,12 @@ package github.axolotl.passenger.rule;
 
 import github.axolotl.elevator.Building;
 import github.axolotl.passenger.Passenger;
+import github.axolotl.util.SplitMixRandom;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator.SplittableGenerator;
 
 /**
  * 高峰期多楼层规则
@@ -24,6 +28,7 @@ public class PeakTimeMultiFloorRule implements PassengerGenerationRule {
     private final int commonTargetFloor; // 共同目标楼层
     private final int excludedSourceFloor; // 排除的起始楼层（避免与目标楼层相同）
     private long nextGenTime = 0;
+    private SplittableGenerator random = new SplitMixRandom();//未指定随机数流时不可复现
 
     public PeakTimeMultiFloorRule(long peakStartTime, long peakEndTime, 
                               int minInterval, int maxInterval, 
@@ -37,7 +42,25 @@ public class PeakTimeMultiFloorRule implements PassengerGenerationRule {
         this.peakMaxInterval = peakMaxInterval;
         this.commonTargetFloor = commonTargetFloor;
         this.excludedSourceFloor = commonTargetFloor;
-        this.nextGenTime = ThreadLocalRandom.current().nextInt(minInterval, maxInterval);
+        this.nextGenTime = random.nextInt(minInterval, maxInterval);
+    }
+
+    @Override
+    public void seed(SplittableGenerator random) {
+        this.random = random;
+        this.nextGenTime = random.nextInt(minInterval, maxInterval);
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(nextGenTime);
+        SplitMixRandom.writeState(out, random);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        nextGenTime = in.readLong();
+        random = SplitMixRandom.readState(in);
     }
 
     @Override
@@ -45,6 +68,11 @@ public class PeakTimeMultiFloorRule implements PassengerGenerationRule {
         return currentTime >= nextGenTime;
     }
 
+    @Override
+    public long nextGenerateTime(long currentTime) {
+        return nextGenTime;
+    }
+
     @Override
     public Passenger generate(Building building) {
         long currentTime = building.getCurrentTime();
@@ -52,9 +80,9 @@ public class PeakTimeMultiFloorRule implements PassengerGenerationRule {
         
         // 设置下一次生成时间间隔
         if (isPeakTime) {
-            nextGenTime += ThreadLocalRandom.current().nextInt(peakMinInterval, peakMaxInterval);
+            nextGenTime += random.nextInt(peakMinInterval, peakMaxInterval);
         } else {
-            nextGenTime += ThreadLocalRandom.current().nextInt(minInterval, maxInterval);
+            nextGenTime += random.nextInt(minInterval, maxInterval);
         }
         
         int totalFloors = building.getFloors();
@@ -62,7 +90,7 @@ public class PeakTimeMultiFloorRule implements PassengerGenerationRule {
         
         // 生成非目标楼层的随机起始楼层
         do {
-            startFloor = ThreadLocalRandom.current().nextInt(1, totalFloors + 1);
+            startFloor = random.nextInt(1, totalFloors + 1);
         } while (startFloor == excludedSourceFloor);
         
         // 所有乘客的目标都是指定的楼层
@@ -2,8 +2,12 @@ package github.axolotl.passenger.rule;
 
 import github.axolotl.elevator.Building;
 import github.axolotl.passenger.Passenger;
+import github.axolotl.util.SplitMixRandom;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator.SplittableGenerator;
 
 /**
  * @author AxolotlXM
@@ -15,11 +19,30 @@ public class RandomIntervalRule implements PassengerGenerationRule {
     private final int minInterval;
     private final int maxInterval;
     private long nextGenTime = 0;
+    private SplittableGenerator random = new SplitMixRandom();//未指定随机数流时不可复现
 
     public RandomIntervalRule(int minInterval, int maxInterval) {
         this.minInterval = minInterval;
         this.maxInterval = maxInterval;
-        this.nextGenTime = ThreadLocalRandom.current().nextInt(minInterval, maxInterval);
+        this.nextGenTime = random.nextInt(minInterval, maxInterval);
+    }
+
+    @Override
+    public void seed(SplittableGenerator random) {
+        this.random = random;
+        this.nextGenTime = random.nextInt(minInterval, maxInterval);
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(nextGenTime);
+        SplitMixRandom.writeState(out, random);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        nextGenTime = in.readLong();
+        random = SplitMixRandom.readState(in);
     }
 
     @Override
@@ -27,14 +50,19 @@ public class RandomIntervalRule implements PassengerGenerationRule {
         return currentTime >= nextGenTime;
     }
 
+    @Override
+    public long nextGenerateTime(long currentTime) {
+        return nextGenTime;
+    }
+
     @Override
     public Passenger generate(Building building) {
         // 重置下次生成时间
-        nextGenTime += ThreadLocalRandom.current().nextInt(minInterval, maxInterval);
+        nextGenTime += random.nextInt(minInterval, maxInterval);
 
         int totalFloors = building.getFloors();
-        int startFloor = ThreadLocalRandom.current().nextInt(1, totalFloors + 1);
-        int destFloor = ThreadLocalRandom.current().nextInt(1, totalFloors );
+        int startFloor = random.nextInt(1, totalFloors + 1);
+        int destFloor = random.nextInt(1, totalFloors );
         if (destFloor >= startFloor)
             destFloor++;//使得不会重复到自己
 
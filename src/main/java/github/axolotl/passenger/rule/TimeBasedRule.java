@@ -2,8 +2,12 @@ package github.axolotl.passenger.rule;
 
 import github.axolotl.elevator.Building;
 import github.axolotl.passenger.Passenger;
+import github.axolotl.util.SplitMixRandom;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator.SplittableGenerator;
 
 /**
  * 基于时间的乘客生成规则
@@ -21,9 +25,10 @@ public class TimeBasedRule implements PassengerGenerationRule {
     private final int peakMinInterval; // 高峰期最小生成间隔
     private final int peakMaxInterval; // 高峰期最大生成间隔
     private final int mainSourceFloor; // 主要出发楼层
-    private final int mainTargetFloor; // 主要目标楼层
+    private final int mainTargetFloor; // 主要目标楼层, 小于等于0时每次随机选择一个非出发楼层
     private final double reverseDirectionProbability; // 反向行驶的概率
     private long nextGenTime = 0;
+    private SplittableGenerator random = new SplitMixRandom();//未指定随机数流时不可复现
 
     public TimeBasedRule(long peakStartTime, long peakEndTime, 
                          int minInterval, int maxInterval, 
@@ -39,7 +44,25 @@ public class TimeBasedRule implements PassengerGenerationRule {
         this.mainSourceFloor = mainSourceFloor;
         this.mainTargetFloor = mainTargetFloor;
         this.reverseDirectionProbability = reverseDirectionProbability;
-        this.nextGenTime = ThreadLocalRandom.current().nextInt(minInterval, maxInterval);
+        this.nextGenTime = random.nextInt(minInterval, maxInterval);
+    }
+
+    @Override
+    public void seed(SplittableGenerator random) {
+        this.random = random;
+        this.nextGenTime = random.nextInt(minInterval, maxInterval);
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(nextGenTime);
+        SplitMixRandom.writeState(out, random);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        nextGenTime = in.readLong();
+        random = SplitMixRandom.readState(in);
     }
 
     @Override
@@ -47,6 +70,11 @@ public class TimeBasedRule implements PassengerGenerationRule {
         return currentTime >= nextGenTime;
     }
 
+    @Override
+    public long nextGenerateTime(long currentTime) {
+        return nextGenTime;
+    }
+
     @Override
     public Passenger generate(Building building) {
         long currentTime = building.getCurrentTime();
@@ -54,26 +82,34 @@ public class TimeBasedRule implements PassengerGenerationRule {
         
         // 设置下一次生成时间
         if (isPeakTime) {
-            nextGenTime += ThreadLocalRandom.current().nextInt(peakMinInterval, peakMaxInterval);
+            nextGenTime += random.nextInt(peakMinInterval, peakMaxInterval);
         } else {
-            nextGenTime += ThreadLocalRandom.current().nextInt(minInterval, maxInterval);
+            nextGenTime += random.nextInt(minInterval, maxInterval);
         }
         
         int totalFloors = building.getFloors();
         int startFloor, destFloor;
         
+        int targetFloor = this.mainTargetFloor;
+        if (targetFloor <= 0) {
+            // 未指定目标楼层时随机选择一个非出发楼层
+            do {
+                targetFloor = random.nextInt(1, totalFloors + 1);
+            } while (targetFloor == this.mainSourceFloor);
+        }
+        
         // 根据是否为高峰期以及随机概率决定乘客的起始楼层和目标楼层
-        if (ThreadLocalRandom.current().nextDouble() < reverseDirectionProbability) {
+        if (random.nextDouble() < reverseDirectionProbability) {
             // 反向的少数乘客
-            startFloor = this.mainTargetFloor;
+            startFloor = targetFloor;
             // 避免目标和起始楼层相同
             do {
-                destFloor = ThreadLocalRandom.current().nextInt(1, totalFloors + 1);
+                destFloor = random.nextInt(1, totalFloors + 1);
             } while (destFloor == startFloor);
         } else {
             // 主流向的乘客
             startFloor = this.mainSourceFloor;
-            destFloor = this.mainTargetFloor;
+            destFloor = targetFloor;
         }
         
         return new Passenger(startFloor, destFloor);
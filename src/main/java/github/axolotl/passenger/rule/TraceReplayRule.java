@@ -0,0 +1,165 @@
+package github.axolotl.passenger.rule;
+
+import github.axolotl.elevator.Building;
+import github.axolotl.passenger.Passenger;
+import github.axolotl.passenger.trace.BinaryTraceReader;
+import github.axolotl.passenger.trace.CsvTraceReader;
+import github.axolotl.passenger.trace.TraceReader;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+/**
+ * 回放记录的乘客到达
+ * 从磁盘上按时间排序的到达记录(CSV或 {@link github.axolotl.passenger.trace.PassengerTrace 二进制格式})逐条读取,
+ * 任何时候只持有下一条记录, 整个文件不进入堆内存。
+ * <p>
+ * 记录时间减去时间偏移就是模拟时间。同一个时间步内到期的记录全部按文件中的顺序生成,
+ * 呼叫时间都是该时间步的时间; 事件驱动模拟会在每条记录的时间准确到达。
+ * 楼层超出建筑范围或起止楼层相同的记录会被跳过, 数量见 {@link #getSkippedCount()}。
+ * <pre>
+ * try (TraceReplayRule rule = TraceReplayRule.open(Path.of("trace/lobby.csv"))) {
+ *     generator.addRule(rule);
+ *     building.startSimulation();
+ * }
+ * </pre>
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class TraceReplayRule implements PassengerGenerationRule, AutoCloseable {
+    private final TraceReader reader;
+    private final long timeOffset;//记录时间减去这个值得到模拟时间
+    private boolean pending;//reader当前是否停在一条还没有生成的记录上
+    private long consumed = 0;//已经处理过(生成或跳过)的记录数
+    private long skippedCount = 0;
+
+    public TraceReplayRule(TraceReader reader) throws IOException {
+        this(reader, 0);
+    }
+
+    /**
+     * @param timeOffset 记录时间减去这个值得到模拟时间, 例如记录使用一天中的毫秒数而模拟从早上7点开始
+     */
+    public TraceReplayRule(TraceReader reader, long timeOffset) throws IOException {
+        this.reader = reader;
+        this.timeOffset = timeOffset;
+        this.pending = reader.next();
+    }
+
+    /**
+     * 按扩展名打开记录文件, .csv为CSV格式, 其他为二进制格式
+     */
+    public static TraceReplayRule open(Path path) throws IOException {
+        return open(path, 0);
+    }
+
+    public static TraceReplayRule open(Path path, long timeOffset) throws IOException {
+        boolean csv = path.getFileName().toString().toLowerCase().endsWith(".csv");
+        return new TraceReplayRule(csv ? new CsvTraceReader(path) : new BinaryTraceReader(path), timeOffset);
+    }
+
+    @Override
+    public boolean shouldGenerate(long currentTime) {
+        return pending && reader.time() - timeOffset <= currentTime;
+    }
+
+    @Override
+    public long nextGenerateTime(long currentTime) {
+        return pending ? reader.time() - timeOffset : Long.MAX_VALUE;
+    }
+
+    /**
+     * 生成下一条有效记录的乘客, 不检查时间
+     */
+    @Override
+    public Passenger generate(Building building) {
+        while (pending) {
+            Passenger passenger = toPassenger(building);
+            advance();
+            if (passenger != null) return passenger;
+        }
+        throw new NoSuchElementException("记录已经回放完毕");
+    }
+
+    @Override
+    public int generateDue(Building building) {
+        int count = 0;
+        while (shouldGenerate(building.getCurrentTime())) {
+            Passenger passenger = toPassenger(building);
+            advance();
+            if (passenger != null) {
+                building.passengerCall(passenger);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 当前记录对应的乘客, 记录无效时返回null
+     */
+    private Passenger toPassenger(Building building) {
+        int origin = reader.origin();
+        int target = reader.target();
+        if (origin < 1 || origin > building.getFloors() || target < 1 || target > building.getFloors()
+                || origin == target) {
+            skippedCount++;
+            return null;
+        }
+        return new Passenger(origin, target);
+    }
+
+    private void advance() {
+        consumed++;
+        try {
+            pending = reader.next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 只保存已经处理过的记录数, 恢复时规则重新打开同一个文件并跳到这个位置
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(consumed);
+        out.writeLong(skippedCount);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        if (consumed != 0) throw new IllegalStateException("只能恢复到新打开的记录");
+        long position = in.readLong();
+        long skipped = pending ? reader.skip(position) : 0;
+        if (pending && skipped == position - 1) {
+            pending = false;//快照时已经回放完毕
+        } else if (skipped != position) {
+            throw new IOException("记录文件比快照中的位置短: " + position);
+        }
+        consumed = position;
+        skippedCount = in.readLong();
+    }
+
+    /**
+     * 已经处理过的记录数, 包括跳过的
+     */
+    public long getConsumedCount() {
+        return consumed;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
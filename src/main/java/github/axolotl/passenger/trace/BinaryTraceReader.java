@@ -0,0 +1,112 @@
+package github.axolotl.passenger.trace;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static github.axolotl.passenger.trace.PassengerTrace.*;
+
+/**
+ * 二进制乘客到达记录的读取器
+ * 把文件映射到内存, 以游标方式逐条读取, 整个文件不进入堆内存。
+ * 超过2GB的文件会分段映射, 每段都是记录长度的整数倍。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class BinaryTraceReader implements TraceReader {
+    private static final long SEGMENT_SIZE = (Integer.MAX_VALUE / RECORD_SIZE) * (long) RECORD_SIZE;//每段映射的字节数
+
+    private final FileChannel channel;
+    private final long count;
+    private MappedByteBuffer segment;
+    private long segmentStart = 0;//当前段第一条记录的下标
+    private long segmentEnd = 0;//当前段之后第一条记录的下标
+    private long index = -1;//当前记录的下标
+    private int offset;//当前记录在段内的偏移
+
+    public BinaryTraceReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE) throw new IOException("不是乘客到达记录文件: " + path);
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) throw new IOException("不是乘客到达记录文件: " + path);
+            if (header.getShort(4) != VERSION || header.getShort(6) != RECORD_SIZE)
+                throw new IOException("不支持的乘客到达记录版本: " + header.getShort(4));
+            this.count = (size - HEADER_SIZE) / RECORD_SIZE;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 记录总数
+     */
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        if (index + 1 >= count) return false;
+        seek(index + 1);
+        return true;
+    }
+
+    /**
+     * 直接移动到跳过后的位置, 不逐条读取
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = Math.min(n, count - 1 - index);
+        if (skipped <= 0) return 0;
+        seek(index + skipped);
+        return skipped;
+    }
+
+    /**
+     * 移动到指定下标的记录
+     */
+    public void seek(long index) throws IOException {
+        if (index < 0 || index >= count) throw new IndexOutOfBoundsException("Index: " + index + ", Count: " + count);
+        if (index < segmentStart || index >= segmentEnd) map(index);
+        this.index = index;
+        this.offset = (int) ((index - segmentStart) * RECORD_SIZE);
+    }
+
+    private void map(long index) throws IOException {
+        segmentStart = index - index % (SEGMENT_SIZE / RECORD_SIZE);
+        long length = Math.min(SEGMENT_SIZE, (count - segmentStart) * RECORD_SIZE);
+        segment = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + segmentStart * RECORD_SIZE, length);
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segmentEnd = segmentStart + length / RECORD_SIZE;
+    }
+
+    @Override
+    public long time() {
+        return segment.getLong(offset + TIME_OFFSET);
+    }
+
+    @Override
+    public int origin() {
+        return segment.getInt(offset + ORIGIN_OFFSET);
+    }
+
+    @Override
+    public int target() {
+        return segment.getInt(offset + TARGET_OFFSET);
+    }
+
+    @Override
+    public void close() throws IOException {
+        segment = null;
+        channel.close();
+    }
+}
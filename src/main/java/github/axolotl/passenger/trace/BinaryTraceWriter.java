@@ -0,0 +1,95 @@
+package github.axolotl.passenger.trace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static github.axolotl.passenger.trace.PassengerTrace.*;
+
+/**
+ * 二进制乘客到达记录的写入器
+ * 记录先写入一块直接内存缓冲区, 满了再通过FileChannel整块写出
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class BinaryTraceWriter implements AutoCloseable {
+    private static final int BUFFER_RECORDS = 64 * 1024;//缓冲区可容纳的记录数
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long count = 0;
+    private long lastTime = Long.MIN_VALUE;
+
+    public BinaryTraceWriter(Path path) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putLong(0);
+    }
+
+    /**
+     * 把CSV格式的记录转换为二进制格式
+     *
+     * @return 转换的记录数
+     */
+    public static long convert(Path csv, Path binary) throws IOException {
+        try (CsvTraceReader reader = new CsvTraceReader(csv);
+             BinaryTraceWriter writer = new BinaryTraceWriter(binary)) {
+            while (reader.next()) {
+                writer.write(reader.time(), reader.origin(), reader.target());
+            }
+            return writer.count();
+        }
+    }
+
+    /**
+     * 写入一条记录, 时间不能早于上一条
+     */
+    public void write(long time, int origin, int target) throws IOException {
+        if (time < lastTime) throw new IllegalArgumentException("记录需要按时间排序: " + time + " < " + lastTime);
+        lastTime = time;
+        if (buffer.remaining() < RECORD_SIZE) flush();
+
+        int position = buffer.position();
+        buffer.putLong(position + TIME_OFFSET, time)
+                .putInt(position + ORIGIN_OFFSET, origin)
+                .putInt(position + TARGET_OFFSET, target);
+        buffer.position(position + RECORD_SIZE);
+        count++;
+    }
+
+    /**
+     * 已写入的记录数
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * 把缓冲区中的记录写到文件
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
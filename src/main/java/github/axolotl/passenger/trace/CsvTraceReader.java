@@ -0,0 +1,90 @@
+package github.axolotl.passenger.trace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * CSV格式的乘客到达记录
+ * 每行 "时间(ms),起始楼层,目标楼层", 按时间排序; 空行、#开头的注释行和不以数字开头的表头行会被跳过。
+ * 逐行读取, 不把整个文件读入内存, 数字直接在行内解析, 不拆分字符串。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class CsvTraceReader implements TraceReader {
+    private final BufferedReader reader;
+    private final Path path;
+    private long line = 0;//当前行号, 用于报错
+    private long time;
+    private int origin;
+    private int target;
+
+    public CsvTraceReader(Path path) throws IOException {
+        this.path = path;
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            int start = 0;
+            while (start < text.length() && Character.isWhitespace(text.charAt(start))) start++;
+            if (start == text.length() || !isDigit(text.charAt(start))) continue;//空行、注释和表头
+
+            int first = text.indexOf(',', start);
+            int second = first < 0 ? -1 : text.indexOf(',', first + 1);
+            if (second < 0) throw new IOException(path + " 第" + line + "行需要三列: " + text);
+            int third = text.indexOf(',', second + 1);
+            try {
+                time = Long.parseLong(text, start, trimEnd(text, start, first), 10);
+                origin = Integer.parseInt(text, trimStart(text, first + 1), trimEnd(text, first + 1, second), 10);
+                target = Integer.parseInt(text, trimStart(text, second + 1),
+                        trimEnd(text, second + 1, third < 0 ? text.length() : third), 10);
+            } catch (NumberFormatException e) {
+                throw new IOException(path + " 第" + line + "行格式错误: " + text, e);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int trimStart(String text, int start) {
+        while (start < text.length() && Character.isWhitespace(text.charAt(start))) start++;
+        return start;
+    }
+
+    private static int trimEnd(String text, int start, int end) {
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) end--;
+        return end;
+    }
+
+    @Override
+    public long time() {
+        return time;
+    }
+
+    @Override
+    public int origin() {
+        return origin;
+    }
+
+    @Override
+    public int target() {
+        return target;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
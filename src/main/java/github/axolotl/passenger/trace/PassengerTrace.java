@@ -0,0 +1,33 @@
+package github.axolotl.passenger.trace;
+
+/**
+ * 二进制乘客到达记录(trace)格式
+ * <p>
+ * 文件头16字节: magic(int) 版本(short) 记录长度(short) 保留(long)
+ * <p>
+ * 之后是按时间排序的定长16字节记录, 小端序:
+ * <pre>
+ * 偏移  长度  字段
+ *  0     8   呼叫时间(ms)
+ *  8     4   起始楼层
+ * 12     4   目标楼层
+ * </pre>
+ * 记录数量由文件长度推出。CSV格式的记录可以用 {@link BinaryTraceWriter#convert} 转换成这种格式。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public final class PassengerTrace {
+    public static final int MAGIC = 0x54524345;//"TRCE"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int RECORD_SIZE = 16;
+
+    static final int TIME_OFFSET = 0;
+    static final int ORIGIN_OFFSET = 8;
+    static final int TARGET_OFFSET = 12;
+
+    private PassengerTrace() {
+    }
+}
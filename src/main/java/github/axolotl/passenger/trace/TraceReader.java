@@ -0,0 +1,51 @@
+package github.axolotl.passenger.trace;
+
+import java.io.IOException;
+
+/**
+ * 按时间顺序逐条读取乘客到达记录的游标
+ * <pre>
+ * try (TraceReader reader = new CsvTraceReader(path)) {
+ *     while (reader.next()) {
+ *         long time = reader.time();
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public interface TraceReader extends AutoCloseable {
+
+    /**
+     * 移动到下一条记录
+     *
+     * @return 没有更多记录时返回false
+     */
+    boolean next() throws IOException;
+
+    /**
+     * 呼叫时间(ms)
+     */
+    long time();
+
+    int origin();
+
+    int target();
+
+    /**
+     * 跳过n条记录, 用于从快照恢复读取位置
+     *
+     * @return 实际跳过的记录数
+     */
+    default long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && next()) skipped++;
+        return skipped;
+    }
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,65 @@
+package github.axolotl.statistics;
+
+import github.axolotl.passenger.Passenger;
+import github.axolotl.util.TextAlign;
+import lombok.Getter;
+
+/**
+ * 乘客时间的在线统计
+ * 每个乘客出电梯时记录一次等待时间、乘梯时间和总时间, 不需要在模拟结束后再遍历事件,
+ * 可以得到平均值以及p50/p90/p99/最大值。多次模拟的结果可以合并。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+@Getter
+public class PassengerStatistics {
+    private final LatencyHistogram waitingTime = new LatencyHistogram();//等待时间(ms)
+    private final LatencyHistogram rideTime = new LatencyHistogram();//乘梯时间(ms)
+    private final LatencyHistogram journeyTime = new LatencyHistogram();//总时间(ms)
+
+    /**
+     * 记录一个已经到达目标楼层的乘客
+     */
+    public void record(Passenger passenger) {
+        long waiting = passenger.getWaitingTime();
+        long ride = passenger.getArriveTime();
+        waitingTime.record(waiting);
+        rideTime.record(ride);
+        journeyTime.record(waiting + ride);
+    }
+
+    public void merge(PassengerStatistics other) {
+        waitingTime.merge(other.waitingTime);
+        rideTime.merge(other.rideTime);
+        journeyTime.merge(other.journeyTime);
+    }
+
+    /**
+     * 记录的乘客数量
+     */
+    public long getCount() {
+        return journeyTime.getCount();
+    }
+
+    /**
+     * 输出平均值和分位数表格, 单位为秒
+     */
+    public void print() {
+        System.out.println(TextAlign.left("", 12) + TextAlign.right("平均", 10) + TextAlign.right("p50", 10)
+                + TextAlign.right("p90", 10) + TextAlign.right("p99", 10) + TextAlign.right("最大", 10));
+        printRow("等待时间(s)", waitingTime);
+        printRow("乘梯时间(s)", rideTime);
+        printRow("总时间(s)", journeyTime);
+    }
+
+    private static void printRow(String name, LatencyHistogram histogram) {
+        System.out.printf("%s%10.2f%10.2f%10.2f%10.2f%10.2f\n", TextAlign.left(name, 12),
+                histogram.getMean() / 1000.0,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMax() / 1000.0);
+    }
+}
@@ -0,0 +1,114 @@
+package github.axolotl.statistics;
+
+/**
+ * 在线计算一组观测值的均值、方差和均值的置信区间
+ * 使用Welford算法逐个累加, 不保存观测值, 数值稳定。
+ * 置信区间按t分布计算, 观测值需要相互独立。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class RunningStatistics {
+    private long count;
+    private double mean;
+    private double m2;//与均值之差的平方和
+
+    public void record(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * 样本方差, 少于两个观测值时返回NaN
+     */
+    public double getVariance() {
+        return count < 2 ? Double.NaN : m2 / (count - 1);
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * 均值置信区间的半宽, 区间为 [mean - halfWidth, mean + halfWidth]
+     *
+     * @param confidence 置信水平, 例如0.95
+     * @return 半宽, 少于两个观测值时返回NaN
+     */
+    public double getHalfWidth(double confidence) {
+        if (count < 2) return Double.NaN;
+        double t = studentQuantile(1 - (1 - confidence) / 2, count - 1);
+        return t * Math.sqrt(getVariance() / count);
+    }
+
+    /**
+     * 半宽与均值绝对值之比, 均值和方差都为0时返回0
+     */
+    public double getRelativeHalfWidth(double confidence) {
+        double halfWidth = getHalfWidth(confidence);
+        if (halfWidth == 0) return 0;
+        return halfWidth / Math.abs(mean);
+    }
+
+    /**
+     * t分布的分位数
+     * 用正态分位数的Cornish-Fisher展开近似, 自由度不小于3时误差在0.5%以内
+     *
+     * @param p 累积概率
+     * @param degreesOfFreedom 自由度
+     */
+    static double studentQuantile(double p, long degreesOfFreedom) {
+        double z = normalQuantile(p);
+        double n = degreesOfFreedom;
+        double z2 = z * z;
+        double g1 = (z2 + 1) * z / 4;
+        double g2 = ((5 * z2 + 16) * z2 + 3) * z / 96;
+        double g3 = (((3 * z2 + 19) * z2 + 17) * z2 - 15) * z / 384;
+        double g4 = ((((79 * z2 + 776) * z2 + 1482) * z2 - 1920) * z2 - 945) * z / 92160;
+        return z + g1 / n + g2 / (n * n) + g3 / (n * n * n) + g4 / (n * n * n * n);
+    }
+
+    /**
+     * 标准正态分布的分位数
+     * Acklam的有理函数近似, 相对误差约1e-9
+     *
+     * @param p 累积概率, 取值(0,1)
+     */
+    static double normalQuantile(double p) {
+        if (p <= 0 || p >= 1) throw new IllegalArgumentException("概率需要在(0,1)之间: " + p);
+
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        final double low = 0.02425;
+
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            return -normalQuantile(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
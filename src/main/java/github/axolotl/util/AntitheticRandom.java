@@ -0,0 +1,94 @@
+package github.axolotl.util;
+
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * 对偶(antithetic)随机数流
+ * 把另一个随机数流的每个输出映射到分布中与之对称的位置: 均匀分布的u变成1-u, [a,b)中的整数x变成a+b-1-x。
+ * 分布不变, 但与原来的流负相关, 用同一个种子分别跑一次原始流和对偶流, 两次结果的平均值方差更小。
+ * 拆分出的子流同样是对偶的, 所以可以直接交给 {@link github.axolotl.elevator.Building#seed(SplittableGenerator)}。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class AntitheticRandom implements RandomGenerator.SplittableGenerator {
+    private static final double MAX_DOUBLE = 0x1.fffffffffffffp-1;//小于1的最大double, 即1-2^-53
+
+    private final SplittableGenerator source;
+
+    public AntitheticRandom(SplittableGenerator source) {
+        this.source = source;
+    }
+
+    public SplittableGenerator getSource() {
+        return source;
+    }
+
+    @Override
+    public long nextLong() {
+        return ~source.nextLong();
+    }
+
+    @Override
+    public long nextLong(long bound) {
+        return bound - 1 - source.nextLong(bound);
+    }
+
+    @Override
+    public long nextLong(long origin, long bound) {
+        return bound - 1 - (source.nextLong(origin, bound) - origin);
+    }
+
+    @Override
+    public int nextInt() {
+        return ~source.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return bound - 1 - source.nextInt(bound);
+    }
+
+    @Override
+    public int nextInt(int origin, int bound) {
+        return bound - 1 - (source.nextInt(origin, bound) - origin);
+    }
+
+    @Override
+    public double nextDouble() {
+        //source.nextDouble()是2^-53的整数倍, 相减没有舍入误差, 结果仍在[0,1)中
+        return MAX_DOUBLE - source.nextDouble();
+    }
+
+    @Override
+    public SplittableGenerator split() {
+        return new AntitheticRandom(source.split());
+    }
+
+    @Override
+    public SplittableGenerator split(SplittableGenerator source) {
+        return new AntitheticRandom(this.source.split(source));
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize) {
+        return source.splits(streamSize).map(AntitheticRandom::new);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(SplittableGenerator source) {
+        return this.source.splits(source).map(AntitheticRandom::new);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize, SplittableGenerator source) {
+        return this.source.splits(streamSize, source).map(AntitheticRandom::new);
+    }
+
+    @Override
+    public Stream<RandomGenerator> rngs() {
+        return splits().map(RandomGenerator.class::cast);
+    }
+}
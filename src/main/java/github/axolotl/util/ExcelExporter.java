@@ -1,14 +1,20 @@
 package github.axolotl.util;
 
 import github.axolotl.event.AbstractEvent;
+import github.axolotl.event.EventFormatter;
 import github.axolotl.event.EventRecoder;
 import github.axolotl.passenger.Passenger;
+import github.axolotl.passenger.PassengerStore;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.awt.desktop.AboutEvent;
+import java.io.BufferedWriter;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
@@ -22,6 +28,11 @@ import java.util.List;
  */
 public class ExcelExporter {
 
+    /**
+     * SXSSF流式导出时默认保留在内存中的行数
+     */
+    public static final int DEFAULT_ROW_WINDOW = 1000;
+
     /**
      * 导出乘客数据到Excel
      *
@@ -31,70 +42,146 @@ public class ExcelExporter {
     public static void exportPassengerData(List<Passenger> passengerList, String filePath) {
         System.out.println("处理乘客数量: " + passengerList.size());
         try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("乘客数据");
-
-            // 创建表头
-            Row headerRow = sheet.createRow(0);
-            headerRow.createCell(0).setCellValue("起始楼层");
-            headerRow.createCell(1).setCellValue("目标楼层");
-            headerRow.createCell(2).setCellValue("方向");
-            headerRow.createCell(3).setCellValue("等待时间(s)");
-            headerRow.createCell(4).setCellValue("乘梯时间(s)");
-            headerRow.createCell(5).setCellValue("总时间(s)");
-
-            // 填充数据
-            int rowNum = 1;
-            for (Passenger passenger : passengerList) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(passenger.getOriginFloor());
-                row.createCell(1).setCellValue(passenger.getTargetFloor());
-                row.createCell(2).setCellValue(passenger.getDirection().toString());
-                row.createCell(3).setCellValue(passenger.getWaitingTime() / 1000.0);
-                row.createCell(4).setCellValue(passenger.getArriveTime() / 1000.0);
-                row.createCell(5).setCellValue((passenger.getWaitingTime() + passenger.getArriveTime()) / 1000.0);
-            }
+            writePassengerData(workbook, passengerList, passengerList.size(), filePath);
+        } catch (IOException e) {
+            System.err.println("导出Excel文件时出错: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 以流式方式导出乘客数据到Excel, 使用默认的行窗口, 不压缩临时文件
+     *
+     * @param passengerList 乘客列表
+     * @param filePath      文件路径
+     */
+    public static void exportPassengerDataStreaming(List<Passenger> passengerList, String filePath) {
+        exportPassengerDataStreaming(passengerList, filePath, DEFAULT_ROW_WINDOW, false);
+    }
+
+    /**
+     * 以流式方式导出乘客数据到Excel
+     * 基于SXSSFWorkbook, 内存中只保留最近的rowWindow行, 其余的行写入临时文件,
+     * 适合几十万乘客以上的导出。生成的表格与 {@link #exportPassengerData} 相同。
+     *
+     * @param passengerList     乘客列表
+     * @param filePath          文件路径
+     * @param rowWindow         内存中保留的行数
+     * @param compressTempFiles 是否压缩临时文件(更省磁盘, 更耗CPU)
+     */
+    public static void exportPassengerDataStreaming(List<Passenger> passengerList, String filePath,
+                                                    int rowWindow, boolean compressTempFiles) {
+        System.out.println("处理乘客数量: " + passengerList.size());
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(compressTempFiles);
+        try (workbook) {
+            writePassengerData(workbook, passengerList, passengerList.size(), filePath);
+        } catch (IOException e) {
+            System.err.println("导出Excel文件时出错: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            workbook.dispose();//删除临时文件
+        }
+    }
+
+    /**
+     * 以流式方式导出存储中所有已经离开电梯的乘客, 按离开电梯的顺序排列, 与从事件导出时相同
+     * 直接从按列保存的数据中逐行读取, 模拟时不需要保留乘客对象或事件
+     *
+     * @param store    乘客存储, 通常来自 {@link github.axolotl.elevator.Building#getPassengerStore()}
+     * @param filePath 文件路径
+     */
+    public static void exportPassengerDataStreaming(PassengerStore store, String filePath) {
+        System.out.println("处理乘客数量: " + store.getFinishedCount());
+        SXSSFWorkbook workbook = new SXSSFWorkbook(DEFAULT_ROW_WINDOW);
+        try (workbook) {
+            writePassengerData(workbook, store.finishedInAlightOrder(), store.getFinishedCount(), filePath);
+        } catch (IOException e) {
+            System.err.println("导出Excel文件时出错: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            workbook.dispose();//删除临时文件
+        }
+    }
+
+    /**
+     * 填充乘客数据表和统计表并写入文件, 统计数据在填充乘客数据的同一次遍历中计算
+     */
+    private static void writePassengerData(Workbook workbook, Iterable<Passenger> passengers, int count,
+                                           String filePath) throws IOException {
+        Sheet sheet = workbook.createSheet("乘客数据");
+
+        // 创建表头
+        Row headerRow = sheet.createRow(0);
+        headerRow.createCell(0).setCellValue("起始楼层");
+        headerRow.createCell(1).setCellValue("目标楼层");
+        headerRow.createCell(2).setCellValue("方向");
+        headerRow.createCell(3).setCellValue("等待时间(s)");
+        headerRow.createCell(4).setCellValue("乘梯时间(s)");
+        headerRow.createCell(5).setCellValue("总时间(s)");
+
+        // 填充数据
+        double totalWaitingTime = 0;
+        double totalRideTime = 0;
+        double totalTime = 0;
+        int rowNum = 1;
+        for (Passenger passenger : passengers) {
+            long waitingTime = passenger.getWaitingTime();
+            long arriveTime = passenger.getArriveTime();
+
+            Row row = sheet.createRow(rowNum++);
+            row.createCell(0).setCellValue(passenger.getOriginFloor());
+            row.createCell(1).setCellValue(passenger.getTargetFloor());
+            row.createCell(2).setCellValue(passenger.getDirection().toString());
+            row.createCell(3).setCellValue(waitingTime / 1000.0);
+            row.createCell(4).setCellValue(arriveTime / 1000.0);
+            row.createCell(5).setCellValue((waitingTime + arriveTime) / 1000.0);
+
+            totalWaitingTime += waitingTime / 1000.0;
+            totalRideTime += arriveTime / 1000.0;
+            totalTime += (waitingTime + arriveTime) / 1000.0;
+        }
 
 //            // 自动调整列宽
 //            for (int i = 0; i < 6; i++) {
 //                sheet.autoSizeColumn(i);
 //            }
 
-            // 创建统计表
-            Sheet statsSheet = workbook.createSheet("统计数据");
-            Row statsHeader = statsSheet.createRow(0);
-            statsHeader.createCell(0).setCellValue("指标");
-            statsHeader.createCell(1).setCellValue("值");
-
-            Row avgWaitRow = statsSheet.createRow(1);
-            avgWaitRow.createCell(0).setCellValue("平均等待时间(s)");
-            avgWaitRow.createCell(1).setCellValue(calculateAvgWaitingTime(passengerList));
+        // 创建统计表
+        Sheet statsSheet = workbook.createSheet("统计数据");
+        if (statsSheet instanceof SXSSFSheet streamingSheet) {
+            streamingSheet.trackAllColumnsForAutoSizing();
+        }
+        Row statsHeader = statsSheet.createRow(0);
+        statsHeader.createCell(0).setCellValue("指标");
+        statsHeader.createCell(1).setCellValue("值");
 
-            Row avgRideRow = statsSheet.createRow(2);
-            avgRideRow.createCell(0).setCellValue("平均乘梯时间(s)");
-            avgRideRow.createCell(1).setCellValue(calculateAvgRideTime(passengerList));
+        Row avgWaitRow = statsSheet.createRow(1);
+        avgWaitRow.createCell(0).setCellValue("平均等待时间(s)");
+        avgWaitRow.createCell(1).setCellValue(count == 0 ? 0 : totalWaitingTime / count);
 
-            Row avgTotalRow = statsSheet.createRow(3);
-            avgTotalRow.createCell(0).setCellValue("平均总时间(s)");
-            avgTotalRow.createCell(1).setCellValue(calculateAvgTotalTime(passengerList));
+        Row avgRideRow = statsSheet.createRow(2);
+        avgRideRow.createCell(0).setCellValue("平均乘梯时间(s)");
+        avgRideRow.createCell(1).setCellValue(count == 0 ? 0 : totalRideTime / count);
 
-            // 自动调整列宽
-            for (int i = 0; i < 2; i++) {
-                statsSheet.autoSizeColumn(i);
-            }
+        Row avgTotalRow = statsSheet.createRow(3);
+        avgTotalRow.createCell(0).setCellValue("平均总时间(s)");
+        avgTotalRow.createCell(1).setCellValue(count == 0 ? 0 : totalTime / count);
 
-            // 创建目录（如果不存在）
-            Files.createDirectories(Paths.get(filePath).getParent());
+        // 自动调整列宽
+        for (int i = 0; i < 2; i++) {
+            statsSheet.autoSizeColumn(i);
+        }
 
-            // 写入文件
-            try (FileOutputStream fileOut = new FileOutputStream(filePath)) {
-                workbook.write(fileOut);
-            }
+        // 创建目录（如果不存在）
+        Files.createDirectories(Paths.get(filePath).getParent());
 
-            System.out.println("乘客数据已成功导出到: " + filePath);
-        } catch (IOException e) {
-            System.err.println("导出Excel文件时出错: " + e.getMessage());
-            e.printStackTrace();
+        // 写入文件
+        try (FileOutputStream fileOut = new FileOutputStream(filePath)) {
+            workbook.write(fileOut);
         }
+
+        System.out.println("乘客数据已成功导出到: " + filePath);
     }
 
     /**
@@ -108,62 +195,21 @@ public class ExcelExporter {
             // 创建目录（如果不存在）
             Files.createDirectories(Paths.get(filePath).getParent());
 
-            // 写入文件
-            StringBuilder content = new StringBuilder();
-            content.append("事件记录\n");
-            content.append("====================\n\n");
+            // 逐行写入文件
+            EventFormatter formatter = new EventFormatter();
+            try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+                writer.write("事件记录\n");
+                writer.write("====================\n\n");
 
-            for (AbstractEvent event : eventRecoder.getEvents()) {
-                content.append(event.toString()).append("\n");
+                for (AbstractEvent event : eventRecoder.getEvents()) {
+                    formatter.write(event, writer);
+                }
             }
 
-            Files.writeString(Paths.get(filePath), content.toString());
             System.out.println("事件记录已成功导出到: " + filePath);
         } catch (IOException e) {
             System.err.println("导出事件记录时出错: " + e.getMessage());
             e.printStackTrace();
         }
     }
-
-    /**
-     * 计算平均等待时间
-     */
-    private static double calculateAvgWaitingTime(List<Passenger> passengerList) {
-        if (passengerList.isEmpty()) return 0;
-
-        double totalWaitingTime = 0;
-        for (Passenger passenger : passengerList) {
-            totalWaitingTime += passenger.getWaitingTime() / 1000.0;
-        }
-
-        return totalWaitingTime / passengerList.size();
-    }
-
-    /**
-     * 计算平均乘梯时间
-     */
-    private static double calculateAvgRideTime(List<Passenger> passengerList) {
-        if (passengerList.isEmpty()) return 0;
-
-        double totalRideTime = 0;
-        for (Passenger passenger : passengerList) {
-            totalRideTime += passenger.getArriveTime() / 1000.0;
-        }
-
-        return totalRideTime / passengerList.size();
-    }
-
-    /**
-     * 计算平均总时间
-     */
-    private static double calculateAvgTotalTime(List<Passenger> passengerList) {
-        if (passengerList.isEmpty()) return 0;
-
-        double totalTime = 0;
-        for (Passenger passenger : passengerList) {
-            totalTime += (passenger.getWaitingTime() + passenger.getArriveTime()) / 1000.0;
-        }
-
-        return totalTime / passengerList.size();
-    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package github.axolotl.util;
+
+import java.util.Arrays;
+
+/**
+ * 楼层位图
+ * 每个楼层占一位, 按64层一组存放在long[]中, 支持任意层数。
+ * 用于快速回答"某层以上/以下是否有请求"和"离某层最近的请求楼层"。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/21
+ */
+public class FloorBitmap {
+    private final long[] words;
+    private final int size;
+
+    /**
+     * @param size 可以表示的楼层数量, 楼层编号为0到size-1
+     */
+    public FloorBitmap(int size) {
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void set(int floor) {
+        words[floor >>> 6] |= 1L << floor;
+    }
+
+    public void clear(int floor) {
+        words[floor >>> 6] &= ~(1L << floor);
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0);
+    }
+
+    public boolean get(int floor) {
+        return floor >= 0 && floor < size && (words[floor >>> 6] & (1L << floor)) != 0;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 大于等于from的第一个被标记的楼层, 没有则返回-1
+     */
+    public int nextSetBit(int from) {
+        if (from < 0) from = 0;
+        if (from >= size) return -1;
+        int index = from >>> 6;
+        long word = words[index] & (-1L << from);
+        while (true) {
+            if (word != 0) return (index << 6) + Long.numberOfTrailingZeros(word);
+            if (++index == words.length) return -1;
+            word = words[index];
+        }
+    }
+
+    /**
+     * 小于等于from的最后一个被标记的楼层, 没有则返回-1
+     */
+    public int previousSetBit(int from) {
+        if (from < 0) return -1;
+        if (from >= size) from = size - 1;
+        int index = from >>> 6;
+        long word = words[index] & (-1L >>> (63 - (from & 63)));
+        while (true) {
+            if (word != 0) return (index << 6) + 63 - Long.numberOfLeadingZeros(word);
+            if (index-- == 0) return -1;
+            word = words[index];
+        }
+    }
+
+    /**
+     * 严格高于floor的楼层是否有标记
+     */
+    public boolean anyAbove(int floor) {
+        return nextSetBit(floor + 1) >= 0;
+    }
+
+    /**
+     * 严格低于floor的楼层是否有标记
+     */
+    public boolean anyBelow(int floor) {
+        return previousSetBit(floor - 1) >= 0;
+    }
+}
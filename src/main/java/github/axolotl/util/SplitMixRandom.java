@@ -0,0 +1,152 @@
+package github.axolotl.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * 状态可以保存和恢复的SplitMix随机数流
+ * 与 {@link SplittableRandom} 使用完全相同的算法, 同样的种子得到同样的输出和同样的子流,
+ * 区别是内部的两个long状态可以读出, 用于保存模拟快照。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class SplitMixRandom implements RandomGenerator.SplittableGenerator {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long seed;
+    private final long gamma;//每次前进的步长, 必须是奇数
+
+    public SplitMixRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    /**
+     * 未指定种子时不可复现
+     */
+    public SplitMixRandom() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    private SplitMixRandom(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * 从 {@link #getSeed()} 和 {@link #getGamma()} 恢复随机数流
+     */
+    public static SplitMixRandom restore(long seed, long gamma) {
+        if ((gamma & 1) == 0) throw new IllegalArgumentException("gamma必须是奇数");
+        return new SplitMixRandom(seed, gamma);
+    }
+
+    /**
+     * 保存随机数流的状态, 支持null、SplitMixRandom和包装SplitMixRandom的 {@link AntitheticRandom}
+     *
+     * @throws IllegalArgumentException 状态无法读出的随机数流, 例如 {@link SplittableRandom}
+     */
+    public static void writeState(DataOutput out, RandomGenerator random) throws IOException {
+        if (random == null) {
+            out.writeByte(0);
+        } else if (random instanceof SplitMixRandom splitMix) {
+            out.writeByte(1);
+            out.writeLong(splitMix.seed);
+            out.writeLong(splitMix.gamma);
+        } else if (random instanceof AntitheticRandom antithetic) {
+            out.writeByte(2);
+            writeState(out, antithetic.getSource());
+        } else {
+            throw new IllegalArgumentException("无法保存随机数流的状态: " + random.getClass().getName());
+        }
+    }
+
+    /**
+     * 读取 {@link #writeState} 保存的随机数流
+     */
+    public static SplittableGenerator readState(DataInput in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case 0 -> null;
+            case 1 -> restore(in.readLong(), in.readLong());
+            case 2 -> new AntitheticRandom(readState(in));
+            default -> throw new IOException("未知的随机数流类型: " + type);
+        };
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getGamma() {
+        return gamma;
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+
+    @Override
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    @Override
+    public SplitMixRandom split() {
+        return new SplitMixRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    @Override
+    public SplittableGenerator split(SplittableGenerator source) {
+        return new SplitMixRandom(source.nextLong(), mixGamma(source.nextLong()));
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize) {
+        return splits(streamSize, this);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(SplittableGenerator source) {
+        return Stream.generate(() -> split(source));
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize, SplittableGenerator source) {
+        return splits(source).limit(streamSize);
+    }
+
+    @Override
+    public Stream<RandomGenerator> rngs() {
+        return splits().map(RandomGenerator.class::cast);
+    }
+}
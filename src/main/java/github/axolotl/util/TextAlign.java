@@ -0,0 +1,58 @@
+package github.axolotl.util;
+
+/**
+ * 按终端显示宽度对齐文本
+ * {@code %10s} 按字符数补空格, 而中文等全角字符在终端中占两列, 表头含中文时各列会错开。
+ * 这里按显示宽度补空格, 全角字符计为2列, 其他字符计为1列。
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public final class TextAlign {
+    private TextAlign() {
+    }
+
+    /**
+     * 文本的显示宽度
+     */
+    public static int width(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            width += isWide(codePoint) ? 2 : 1;
+            i += Character.charCount(codePoint);
+        }
+        return width;
+    }
+
+    /**
+     * 左对齐, 在右侧补空格到指定显示宽度, 已经超过时原样返回
+     */
+    public static String left(String text, int width) {
+        int padding = width - width(text);
+        return padding <= 0 ? text : text + " ".repeat(padding);
+    }
+
+    /**
+     * 右对齐, 在左侧补空格到指定显示宽度, 已经超过时原样返回
+     */
+    public static String right(String text, int width) {
+        int padding = width - width(text);
+        return padding <= 0 ? text : " ".repeat(padding) + text;
+    }
+
+    /**
+     * 东亚全角字符: 韩文字母、中日韩统一表意文字及符号、韩文音节、兼容表意文字、全角形式
+     */
+    private static boolean isWide(int codePoint) {
+        return (codePoint >= 0x1100 && codePoint <= 0x115F)
+                || (codePoint >= 0x2E80 && codePoint <= 0xA4CF && codePoint != 0x303F)
+                || (codePoint >= 0xAC00 && codePoint <= 0xD7A3)
+                || (codePoint >= 0xF900 && codePoint <= 0xFAFF)
+                || (codePoint >= 0xFE30 && codePoint <= 0xFE4F)
+                || (codePoint >= 0xFF00 && codePoint <= 0xFF60)
+                || (codePoint >= 0xFFE0 && codePoint <= 0xFFE6)
+                || (codePoint >= 0x20000 && codePoint <= 0x3FFFD);
+    }
+}
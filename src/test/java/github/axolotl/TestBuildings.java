@@ -0,0 +1,137 @@
+package github.axolotl;
+
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.algorithm.GroupController;
+import github.axolotl.elevator.Building;
+import github.axolotl.elevator.motion.MotionProfile;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.passenger.PassengerGenerator;
+import github.axolotl.passenger.rule.PassengerGenerationRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 测试用的建筑
+ * 各个测试只写出与默认值不同的部分: 层高3m、interval 100ms、新的EventRecoder、不固定种子。
+ * <pre>
+ * Building building = TestBuildings.create(DURATION, 8)
+ *         .rule(new RandomIntervalRule(8_000, 25_000))
+ *         .elevators(2, 1.5, Algorithm_LOOK::new)
+ *         .seed(3)
+ *         .build();
+ * </pre>
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public final class TestBuildings {
+    private final long duration;
+    private final int floors;
+    private double floorHeight = 3.0;
+    private long interval = 100;
+    private EventRecoder eventRecoder;
+    private final List<PassengerGenerationRule> rules = new ArrayList<>();
+    private final List<Function<Building, Building.Elevator>> elevators = new ArrayList<>();
+    private GroupController groupController;
+    private Long seed;
+
+    private TestBuildings(long duration, int floors) {
+        this.duration = duration;
+        this.floors = floors;
+    }
+
+    public static TestBuildings create(long duration, int floors) {
+        return new TestBuildings(duration, floors);
+    }
+
+    public TestBuildings floorHeight(double floorHeight) {
+        this.floorHeight = floorHeight;
+        return this;
+    }
+
+    public TestBuildings interval(long interval) {
+        this.interval = interval;
+        return this;
+    }
+
+    public TestBuildings eventRecoder(EventRecoder eventRecoder) {
+        this.eventRecoder = eventRecoder;
+        return this;
+    }
+
+    /**
+     * 加入一条生成规则, 所有规则放在同一个生成器中; 没有规则时不添加生成器
+     */
+    public TestBuildings rule(PassengerGenerationRule rule) {
+        rules.add(rule);
+        return this;
+    }
+
+    /**
+     * 加入一部匀速电梯
+     */
+    public TestBuildings elevator(double speed, ElevatorSchedulingAlgorithm algorithm) {
+        return elevator(building -> building.new Elevator(speed), algorithm);
+    }
+
+    /**
+     * 加入一部按运动学模型运行的电梯
+     */
+    public TestBuildings elevator(MotionProfile profile, ElevatorSchedulingAlgorithm algorithm) {
+        return elevator(building -> building.new Elevator(profile), algorithm);
+    }
+
+    /**
+     * 加入count部同样速度的匀速电梯, 每部调用一次factory得到自己的算法实例
+     */
+    public TestBuildings elevators(int count, double speed, Supplier<? extends ElevatorSchedulingAlgorithm> factory) {
+        for (int i = 0; i < count; i++) {
+            elevator(speed, factory.get());
+        }
+        return this;
+    }
+
+    public TestBuildings groupController(GroupController groupController) {
+        this.groupController = groupController;
+        return this;
+    }
+
+    public TestBuildings seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * 按添加顺序创建电梯, 加入生成器后再设置种子
+     */
+    public Building build() {
+        Building building = new Building(duration, floors, floorHeight, interval,
+                eventRecoder == null ? new EventRecoder() : eventRecoder);
+        for (Function<Building, Building.Elevator> factory : elevators) {
+            building.addElevator(factory.apply(building));
+        }
+        if (groupController != null) building.setGroupController(groupController);
+        if (!rules.isEmpty()) {
+            PassengerGenerator generator = new PassengerGenerator();
+            for (PassengerGenerationRule rule : rules) {
+                generator.addRule(rule);
+            }
+            building.addPassengerGenerators(generator);
+        }
+        if (seed != null) building.seed(seed);
+        return building;
+    }
+
+    private TestBuildings elevator(Function<Building, Building.Elevator> factory, ElevatorSchedulingAlgorithm algorithm) {
+        elevators.add(building -> {
+            Building.Elevator elevator = factory.apply(building);
+            elevator.setSchedulingAlgorithm(algorithm);
+            return elevator;
+        });
+        return this;
+    }
+}
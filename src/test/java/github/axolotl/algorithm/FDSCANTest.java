@@ -1,7 +1,13 @@
 package github.axolotl.algorithm;
 
+import github.axolotl.elevator.Building;
+import github.axolotl.elevator.Direction;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.passenger.Passenger;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 /**
  * FD-SCAN算法测试类
  * @author AxolotlXM
@@ -14,4 +20,34 @@ public class FDSCANTest {
     public void testFDSCAN() {
         github.axolotl.model.TestModel.modelA(new Algorithm_FCFS(),"modelA-FDSCAN");
     }
-} 
\ No newline at end of file
+
+    /**
+     * 请求楼层与电梯位置按楼层比较, 而不是拿楼层号与以米为单位的位置比较
+     */
+    @Test
+    public void testRequestsComparedByFloor() {
+        Building building = new Building(1_000_000, 10, 3.0, 100, new EventRecoder());
+        Building.Elevator elevator = building.new Elevator(1);
+        Algorithm_FDSCAN algorithm = new Algorithm_FDSCAN();
+        elevator.setSchedulingAlgorithm(algorithm);
+        building.addElevator(elevator);
+        elevator.setCurrentFloor(3.0);//2楼
+
+        //3楼在2楼上方, 而3 > 3.0m不成立
+        building.passengerCall(new Passenger(3, 8));
+        elevator.setDirection(Direction.DOWN);
+        algorithm.doLogic(building, elevator);
+        assertEquals(Direction.UP, elevator.getDirection());
+
+        //空闲时走向最近的请求: 2楼到1楼3m, 到3楼3m, 距离相同取向上的请求
+        building.passengerCall(new Passenger(1, 5));
+        elevator.setDirection(Direction.IDLE);
+        algorithm.doLogic(building, elevator);
+        assertEquals(Direction.UP, elevator.getDirection());
+
+        elevator.setCurrentFloor(9 * 3.0);//10楼
+        elevator.setDirection(Direction.UP);
+        algorithm.doLogic(building, elevator);
+        assertEquals(Direction.DOWN, elevator.getDirection());
+    }
+}
@@ -0,0 +1,96 @@
+package github.axolotl.algorithm;
+
+import github.axolotl.elevator.Building;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.event.sink.CountingEventSink;
+import github.axolotl.passenger.Passenger;
+import github.axolotl.passenger.PassengerGenerator;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import github.axolotl.passenger.rule.TimeBasedRule;
+import github.axolotl.statistics.PassengerStatistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 群控测试: 增加电梯后等待时间应该下降, 并且优于每部电梯都去接所有乘客
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class GroupControllerTest {
+
+    @Test
+    public void testMoreElevatorsLessWaiting() {
+        PassengerStatistics two = simulate(2, true);
+        PassengerStatistics four = simulate(4, true);
+        PassengerStatistics eight = simulate(8, true);
+
+        assertTrue(four.getWaitingTime().getMean() < two.getWaitingTime().getMean());
+        assertTrue(eight.getWaitingTime().getMean() < four.getWaitingTime().getMean());
+        assertTrue(four.getWaitingTime().getValueAtPercentile(99) < two.getWaitingTime().getValueAtPercentile(99));
+        assertTrue(eight.getWaitingTime().getValueAtPercentile(99) < four.getWaitingTime().getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testBetterThanWithoutGroupController() {
+        PassengerStatistics grouped = simulate(4, true);
+        PassengerStatistics ungrouped = simulate(4, false);
+
+        assertTrue(grouped.getWaitingTime().getMean() < ungrouped.getWaitingTime().getMean());
+        assertTrue(grouped.getWaitingTime().getValueAtPercentile(90) < ungrouped.getWaitingTime().getValueAtPercentile(90));
+    }
+
+    @Test
+    public void testWaitingCallsDoNotBounce() {
+        Building building = new Building(10_000_000, 15, 3.0, 100, new EventRecoder(new CountingEventSink()));
+        for (int i = 0; i < 2; i++) {
+            Building.Elevator elevator = building.new Elevator(2);
+            elevator.setSchedulingAlgorithm(new Algorithm_LOOK());
+            building.addElevator(elevator);
+        }
+        building.setGroupController(new GroupController_ETA());
+
+        //两部完全相同的电梯, 新的呼叫不应该让已经分配的乘客在它们之间来回交换
+        Passenger first = new Passenger(5, 10);
+        building.passengerCall(first);
+        assertEquals(0, first.getAssignedElevator());//代价相同时分配给第一部电梯, 重新评估时不能因为自己的代价移走
+        int[][] calls = {{8, 1}, {3, 12}, {10, 2}, {6, 14}, {12, 4}, {2, 9}};
+        for (int[] call : calls) {
+            building.passengerCall(new Passenger(call[0], call[1]));
+            assertEquals(0, first.getAssignedElevator());
+        }
+
+        int assigned = 0;
+        for (Building.Elevator elevator : building.getElevators()) {
+            for (Passenger passenger : elevator.getWaitingPassengers()) {
+                assertEquals(elevator.getIndex(), passenger.getAssignedElevator());
+                assigned++;
+            }
+        }
+        assertEquals(calls.length + 1, assigned);
+    }
+
+    private PassengerStatistics simulate(int elevators, boolean grouped) {
+        EventRecoder eventRecoder = new EventRecoder(new CountingEventSink());
+        Building building = new Building(10_000_000, 15, 3.0, 100, eventRecoder);
+
+        PassengerGenerator generator = new PassengerGenerator();
+        generator.addRule(new RandomIntervalRule(8_000, 16_000));
+        generator.addRule(new TimeBasedRule(2_000_000, 6_000_000, 20_000, 40_000, 8_000, 16_000, 1, 0, 0.1));
+        building.addPassengerGenerators(generator);
+        building.seed(5);
+
+        for (int i = 0; i < elevators; i++) {
+            Building.Elevator elevator = building.new Elevator(2);
+            elevator.setSchedulingAlgorithm(new Algorithm_LOOK());
+            building.addElevator(elevator);
+        }
+        if (grouped) building.setGroupController(new GroupController_ETA());
+
+        building.startSimulation();
+        return eventRecoder.getStatistics();
+    }
+}
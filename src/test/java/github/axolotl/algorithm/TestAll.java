@@ -1,40 +1,33 @@
 package github.axolotl.algorithm;
 
+import github.axolotl.model.ScenarioRunner;
+import github.axolotl.model.TestModel;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 /**
  * @author AxolotlXM
  * @Created by Axolotl
  * @Date 2025/4/13 16:22
+ * 所有算法在商城模型和公寓楼高峰期模型上的对比, 各场景并行运行
  */
 public class TestAll {
     @Test
-    public void testFCFS() {
-        github.axolotl.model.TestModel.modelA(new Algorithm_FCFS(), "modelA-FCFS");
-        github.axolotl.model.TestModel.modelB(new Algorithm_FCFS(), "modelB-FCFS");
-    }
-
-    @Test
-    public void testLOOK() {
-        github.axolotl.model.TestModel.modelA(new Algorithm_LOOK(), "modelA-LOOK");
-        github.axolotl.model.TestModel.modelB(new Algorithm_LOOK(), "modelB-LOOK");
-    }
-
-    @Test
-    public void testFDSCAN() {
-        github.axolotl.model.TestModel.modelA(new Algorithm_FDSCAN(), "modelA-FDSCAN");
-        github.axolotl.model.TestModel.modelB(new Algorithm_FDSCAN(), "modelB-FDSCAN");
-    }
-
-    @Test
-    public void testSSTF() {
-        github.axolotl.model.TestModel.modelA(new Algorithm_SSTF(), "modelA-SSTF");
-        github.axolotl.model.TestModel.modelB(new Algorithm_SSTF(), "modelB-SSTF");
-    }
-
-    @Test
-    public void testSCAN() {
-        github.axolotl.model.TestModel.modelA(new Algorithm_SCAN(), "modelA-SCAN");
-        github.axolotl.model.TestModel.modelB(new Algorithm_SCAN(), "modelB-SCAN");
+    public void testAll() {
+        List<ScenarioRunner.Result> results = new ScenarioRunner()
+                .addModel("modelA", TestModel::createModelA)
+                .addModel("modelB", TestModel::createModelB)
+                .addAlgorithm("FCFS", Algorithm_FCFS::new)
+                .addAlgorithm("LOOK", Algorithm_LOOK::new)
+                .addAlgorithm("FDSCAN", Algorithm_FDSCAN::new)
+                .addAlgorithm("SSTF", Algorithm_SSTF::new)
+                .addAlgorithm("SCAN", Algorithm_SCAN::new)
+                .addSeed(1)
+                .run();
+        ScenarioRunner.printSummary(results);
+        assertEquals(2 * 5, results.size());
     }
 }
@@ -0,0 +1,64 @@
+package github.axolotl.elevator;
+
+import github.axolotl.TestBuildings;
+import github.axolotl.algorithm.*;
+import github.axolotl.passenger.PassengerStore;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import github.axolotl.passenger.rule.TimeBasedRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 自适应步长的结果应与按细步长固定推进完全相同
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class AdaptiveStepEngineTest {
+    private static final long DURATION = 3_000_000;
+    private static final long FINE_INTERVAL = 10;
+
+    @Test
+    public void testSameAsFineFixedStep() {
+        List<Supplier<ElevatorSchedulingAlgorithm>> algorithms = List.of(Algorithm_FCFS::new, Algorithm_FDSCAN::new,
+                Algorithm_LOOK::new, Algorithm_SCAN::new, Algorithm_SSTF::new);
+        for (Supplier<ElevatorSchedulingAlgorithm> algorithm : algorithms) {
+            for (boolean group : new boolean[]{false, true}) {
+                Building fixed = create(algorithm, group, FINE_INTERVAL);
+                fixed.startSimulation();
+                Building adaptive = create(algorithm, group, 1000);
+                adaptive.startAdaptiveSimulation(FINE_INTERVAL);
+
+                String name = algorithm.get().getClass().getSimpleName() + (group ? " 群控" : "");
+                assertSameStore(fixed.getPassengerStore(), adaptive.getPassengerStore(), name);
+                assertEquals(fixed.getCurrentTime(), adaptive.getCurrentTime(), name);
+            }
+        }
+    }
+
+    private static void assertSameStore(PassengerStore expected, PassengerStore actual, String name) {
+        assertEquals(expected.size(), actual.size(), name);
+        for (int id = 0; id < expected.size(); id++) {
+            assertEquals(expected.getCallTime(id), actual.getCallTime(id), name + " 乘客#" + id);
+            assertEquals(expected.getBoardTime(id), actual.getBoardTime(id), name + " 乘客#" + id);
+            assertEquals(expected.getAlightTime(id), actual.getAlightTime(id), name + " 乘客#" + id);
+        }
+    }
+
+    private static Building create(Supplier<ElevatorSchedulingAlgorithm> algorithm, boolean group, long interval) {
+        TestBuildings building = TestBuildings.create(DURATION, 12).interval(interval)
+                .rule(new RandomIntervalRule(5_000, 20_000))
+                .rule(new TimeBasedRule(1_000_000, 2_000_000, 20_000, 40_000, 2_000, 6_000, 1, 0, 0.2))
+                .seed(11);
+        for (int i = 0; i < 3; i++) {
+            building.elevator(1.5 + i * 0.25, algorithm.get());
+        }
+        if (group) building.groupController(new GroupController_ETA());
+        return building.build();
+    }
+}
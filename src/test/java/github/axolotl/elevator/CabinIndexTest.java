@@ -0,0 +1,85 @@
+package github.axolotl.elevator;
+
+import github.axolotl.event.EventRecoder;
+import github.axolotl.passenger.Passenger;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 电梯内乘客按目标楼层的分桶和位图
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class CabinIndexTest {
+
+    @Test
+    public void testDrainFloor() {
+        CabinIndex cabin = new CabinIndex(10);
+        Passenger a = new Passenger(1, 6);
+        Passenger b = new Passenger(2, 4);
+        Passenger c = new Passenger(3, 6);
+        cabin.add(a);
+        cabin.add(b);
+        cabin.add(c);
+
+        assertEquals(3, cabin.size());
+        assertEquals(List.of(a, b, c), cabin.view());
+        assertTrue(cabin.getDestinations().get(4));
+        assertTrue(cabin.getDestinations().get(6));
+        assertFalse(cabin.getDestinations().get(5));
+
+        //一次取出这一层的全部乘客, 按进入顺序
+        List<Passenger> out = new ArrayList<>();
+        assertEquals(2, cabin.drainFloor(6, out));
+        assertEquals(List.of(a, c), out);
+        assertFalse(cabin.getDestinations().get(6));
+        assertEquals(List.of(b), cabin.view());
+        assertEquals(0, cabin.drainFloor(6, out));
+        assertEquals(0, cabin.drainFloor(5, out));
+
+        assertEquals(1, cabin.drainFloor(4, out));
+        assertTrue(cabin.isEmpty());
+        assertTrue(cabin.getDestinations().isEmpty());
+    }
+
+    @Test
+    public void testFirstSequence() {
+        CabinIndex cabin = new CabinIndex(10);
+        assertEquals(Long.MAX_VALUE, cabin.firstSequence(3));
+
+        cabin.add(new Passenger(1, 7));
+        cabin.add(new Passenger(1, 3));
+        cabin.add(new Passenger(1, 7));
+
+        //两层距离相同时按最早进入的乘客比较, 7楼的第一个乘客先进入
+        assertTrue(cabin.firstSequence(7) < cabin.firstSequence(3));
+        assertEquals(Long.MAX_VALUE, cabin.firstSequence(5));
+
+        cabin.drainFloor(7, new ArrayList<>());
+        assertEquals(Long.MAX_VALUE, cabin.firstSequence(7));
+        assertTrue(cabin.firstSequence(3) < Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testNearestDestinationTie() {
+        Building building = new Building(1_000_000, 10, 3.0, 100, new EventRecoder());
+        Building.Elevator elevator = building.new Elevator(1);
+        building.addElevator(elevator);
+        elevator.setCurrentFloor(4 * 3.0);//5楼
+
+        //3楼和7楼距离相同, 取最早进入的乘客的目标楼层
+        elevator.getCabin().add(new Passenger(5, 7));
+        elevator.getCabin().add(new Passenger(5, 3));
+        assertEquals(7, elevator.getNearestDestination());
+
+        elevator.getCabin().drainFloor(7, new ArrayList<>());
+        elevator.getCabin().add(new Passenger(5, 7));
+        assertEquals(3, elevator.getNearestDestination());
+    }
+}
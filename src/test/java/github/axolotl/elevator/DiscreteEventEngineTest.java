@@ -0,0 +1,117 @@
+package github.axolotl.elevator;
+
+import github.axolotl.algorithm.Algorithm_FCFS;
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.event.ElevatorEvent;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.event.EventType;
+import github.axolotl.passenger.Passenger;
+import github.axolotl.passenger.PassengerGenerator;
+import github.axolotl.passenger.rule.PassengerGenerationRule;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 离散事件引擎与tick模拟的结果对比
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/20
+ */
+public class DiscreteEventEngineTest {
+    private static final long DURATION = 20_000_000;
+    private static final long INTERVAL = 100;//项目默认的步长
+
+    /**
+     * 默认步长下每次停靠最多相差一个interval, 平均值允许1秒误差
+     * 停靠范围包括两端, 边界落在tick的网格上时tick模拟与离散事件在同一时刻发现停靠,
+     * 固定时间表和随机到达下LOOK都与离散事件一致
+     */
+    @Test
+    public void testSameStatisticsAsTickLoop() {
+        compare(Algorithm_FCFS::new, FixedScheduleRule::new, INTERVAL, 1000);
+        compare(Algorithm_LOOK::new, FixedScheduleRule::new, INTERVAL, 1000);
+        compare(Algorithm_LOOK::new, () -> new RandomIntervalRule(9_000, 21_000), INTERVAL, 1000);
+    }
+
+    /**
+     * 步长缩小到10ms时, 固定时间表下LOOK的轨迹也与离散事件一致
+     */
+    @Test
+    public void testSameStatisticsAsFineTickLoop() {
+        compare(Algorithm_FCFS::new, FixedScheduleRule::new, 10, 200);
+        compare(Algorithm_LOOK::new, FixedScheduleRule::new, 10, 200);
+    }
+
+    private void compare(Supplier<ElevatorSchedulingAlgorithm> algorithm, Supplier<PassengerGenerationRule> rule,
+                         long interval, double tolerance) {
+        List<Passenger> tick = simulate(algorithm.get(), rule.get(), interval, false);
+        List<Passenger> event = simulate(algorithm.get(), rule.get(), interval, true);
+
+        assertEquals(tick.size(), event.size(), tick.size() * 0.01 + 1);
+        assertEquals(averageWaitingTime(tick), averageWaitingTime(event), tolerance);
+        assertEquals(averageArriveTime(tick), averageArriveTime(event), tolerance);
+    }
+
+    private List<Passenger> simulate(ElevatorSchedulingAlgorithm algorithm, PassengerGenerationRule rule,
+                                     long interval, boolean eventDriven) {
+        EventRecoder eventRecoder = new EventRecoder();
+        Building building = new Building(DURATION, 5, 3.0, interval, eventRecoder);
+
+        PassengerGenerator generator = new PassengerGenerator();
+        generator.addRule(rule);
+
+        Building.Elevator elevator = building.new Elevator(1);
+        elevator.setSchedulingAlgorithm(algorithm);
+        building.addElevator(elevator);
+        building.addPassengerGenerators(generator);
+        building.seed(1);
+
+        if (eventDriven) building.startEventSimulation();
+        else building.startSimulation();
+
+        return eventRecoder.getEventsByType(EventType.PassengerFinishElevator).stream()
+                .map(e -> ((ElevatorEvent) e).getPassenger())
+                .toList();
+    }
+
+    private double averageWaitingTime(List<Passenger> passengers) {
+        return passengers.stream().mapToLong(Passenger::getWaitingTime).average().orElse(0);
+    }
+
+    private double averageArriveTime(List<Passenger> passengers) {
+        return passengers.stream().mapToLong(Passenger::getArriveTime).average().orElse(0);
+    }
+
+    /**
+     * 固定时间表的生成规则, 保证两种引擎看到完全相同的乘客
+     */
+    private static class FixedScheduleRule implements PassengerGenerationRule {
+        private static final int[][] TRIPS = {{1, 5}, {3, 1}, {2, 4}, {5, 2}, {4, 3}, {1, 3}, {5, 1}};
+        private long nextGenTime = 15_000;
+        private int count = 0;
+
+        @Override
+        public boolean shouldGenerate(long currentTime) {
+            return currentTime >= nextGenTime;
+        }
+
+        @Override
+        public long nextGenerateTime(long currentTime) {
+            return nextGenTime;
+        }
+
+        @Override
+        public Passenger generate(Building building) {
+            nextGenTime += 9_000 + (count % 4) * 4_000;
+            int[] trip = TRIPS[count++ % TRIPS.length];
+            return new Passenger(trip[0], trip[1]);
+        }
+    }
+}
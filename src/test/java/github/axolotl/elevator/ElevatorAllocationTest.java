@@ -0,0 +1,53 @@
+package github.axolotl.elevator;
+
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.event.EventRecoder;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 空闲建筑的tick不应分配任何对象
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/22
+ */
+public class ElevatorAllocationTest {
+    private static final long INTERVAL = 100;
+
+    @Test
+    public void testIdleTickAllocatesNothing() {
+        Building building = new Building(10_000_000, 10, 3.0, INTERVAL, new EventRecoder());
+        for (int i = 0; i < 2; i++) {
+            Building.Elevator elevator = building.new Elevator(1);
+            elevator.setSchedulingAlgorithm(new Algorithm_LOOK());
+            building.addElevator(elevator);
+        }
+
+        //预热, 让JIT编译完整个运行入口, 否则每次运行的固定开销会随编译状态变化
+        long ticks = 500_000;
+        for (int i = 0; i < 5; i++) {
+            allocatedBytes(building, ticks);
+        }
+
+        //每次运行的固定开销相同, 跑N和2N个tick分配的字节数必须相等
+        long once = allocatedBytes(building, ticks);
+        long twice = allocatedBytes(building, 2 * ticks);
+        assertEquals(once, twice, "空闲tick分配了 " + (twice - once) + " 字节");
+    }
+
+    /**
+     * 在当前线程上再运行ticks个tick, 返回期间分配的字节数
+     */
+    private static long allocatedBytes(Building building, long ticks) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        building.setDuration(building.getDuration() + ticks * INTERVAL);
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        building.startSimulation();
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+}
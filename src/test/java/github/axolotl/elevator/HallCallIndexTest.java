@@ -0,0 +1,110 @@
+package github.axolotl.elevator;
+
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.passenger.Passenger;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 厅外呼叫索引的队列和位图, 以及等待乘客楼层位图上的方向查询
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class HallCallIndexTest {
+
+    @Test
+    public void testAddRemoveAndBitmaps() {
+        HallCallIndex index = new HallCallIndex(10);
+        Passenger a = new Passenger(3, 7);
+        Passenger b = new Passenger(3, 1);
+        Passenger c = new Passenger(8, 2);
+        Passenger d = new Passenger(3, 9);
+        index.add(a);
+        index.add(b);
+        index.add(c);
+        index.add(d);
+
+        assertEquals(4, index.size());
+        assertEquals(List.of(a, b, c, d), index.view());
+        assertTrue(index.hasCalls(3, Direction.UP));
+        assertTrue(index.hasCalls(3, Direction.DOWN));
+        assertTrue(index.hasCalls(8, Direction.DOWN));
+        assertFalse(index.hasCalls(8, Direction.UP));
+        assertTrue(index.hasCallsAbove(3));
+        assertFalse(index.hasCallsAbove(8));
+        assertTrue(index.hasCallsBelow(8, Direction.UP));
+        assertFalse(index.hasCallsBelow(3));
+
+        //只移除本层本方向的最后一个乘客时才清除对应的位
+        assertTrue(index.remove(c));
+        assertFalse(index.remove(c));
+        assertFalse(index.hasCalls(8));
+        assertTrue(index.remove(b));
+        assertFalse(index.hasCalls(3, Direction.DOWN));
+        assertTrue(index.hasCalls(3));
+        assertEquals(List.of(a, d), index.view());
+
+        //取出一层时不分方向, 按呼叫顺序
+        index.add(b);
+        List<Passenger> out = new ArrayList<>();
+        assertEquals(3, index.drainFloor(3, out));
+        assertEquals(List.of(a, d, b), out);
+        assertTrue(index.isEmpty());
+        assertFalse(index.hasCalls(3));
+        assertEquals(0, index.drainFloor(3, out));
+    }
+
+    @Test
+    public void testFirstAcrossDirections() {
+        HallCallIndex index = new HallCallIndex(10);
+        Passenger down = new Passenger(5, 2);
+        Passenger up = new Passenger(5, 9);
+        index.add(down);
+        index.add(up);
+
+        assertSame(down, index.first(5));
+        assertEquals(index.firstSequence(5, Direction.DOWN), index.firstSequence(5));
+        assertNull(index.first(4));
+        assertEquals(Long.MAX_VALUE, index.firstSequence(4));
+
+        index.remove(down);
+        assertSame(up, index.first(5));
+    }
+
+    @Test
+    public void testWaitingQueries() {
+        Building building = new Building(1_000_000, 10, 3.0, 100, new EventRecoder());
+        Building.Elevator elevator = building.new Elevator(1);
+        elevator.setSchedulingAlgorithm(new Algorithm_LOOK());
+        building.addElevator(elevator);
+        elevator.setCurrentFloor(4 * 3.0);//5楼
+
+        assertFalse(elevator.hasWaitingAbove());
+        assertFalse(elevator.hasWaitingBelow());
+        assertEquals(-1, elevator.getNearestWaitingFloor());
+
+        //本层等待的乘客既不算上方也不算下方
+        building.passengerCall(new Passenger(5, 1));
+        assertFalse(elevator.hasWaitingAbove());
+        assertFalse(elevator.hasWaitingBelow());
+        assertEquals(5, elevator.getNearestWaitingFloor());
+
+        //距离相同时取最早呼叫的乘客所在楼层
+        elevator.setCurrentFloor(5.5 * 3.0);
+        building.passengerCall(new Passenger(8, 1));
+        assertEquals(5, elevator.getNearestWaitingFloor());
+        assertTrue(elevator.hasWaitingAbove());
+        assertTrue(elevator.hasWaitingBelow());
+
+        elevator.setCurrentFloor(8 * 3.0);
+        assertFalse(elevator.hasWaitingAbove());
+        assertEquals(8, elevator.getNearestWaitingFloor());
+    }
+}
@@ -0,0 +1,94 @@
+package github.axolotl.elevator;
+
+import github.axolotl.TestBuildings;
+import github.axolotl.algorithm.Algorithm_FDSCAN;
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.algorithm.GroupController_ETA;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.passenger.Passenger;
+import github.axolotl.passenger.PassengerStore;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import github.axolotl.passenger.rule.TimeBasedRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 从快照恢复后继续运行的结果应与不中断运行相同
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class SimulationSnapshotTest {
+    private static final long DURATION = 4_000_000;
+
+    @Test
+    public void testResumeMatchesUninterrupted(@TempDir Path dir) throws IOException {
+        for (boolean group : new boolean[]{false, true}) {
+            Building uninterrupted = create(group, DURATION);
+            uninterrupted.startSimulation();
+
+            Building first = create(group, DURATION / 2 + 12_345);
+            first.startSimulation();
+            Path path = dir.resolve("snapshot-" + group + ".bin");
+            SimulationSnapshot.save(first, path);
+            assertFalse(Files.exists(dir.resolve("snapshot-" + group + ".bin.tmp")));
+
+            Building resumed = create(group, DURATION);
+            SimulationSnapshot.restore(resumed, path);
+            assertEquals(first.getCurrentTime(), resumed.getCurrentTime());
+            assertEquals(first.getWaitingPassengers(), resumed.getWaitingPassengers());
+            resumed.startSimulation();
+
+            assertSameStore(uninterrupted.getPassengerStore(), resumed.getPassengerStore());
+            assertEquals(uninterrupted.getEventRecoder().getStatistics().getWaitingTime().getSum(),
+                    resumed.getEventRecoder().getStatistics().getWaitingTime().getSum());
+        }
+    }
+
+    @Test
+    public void testRejectsDifferentBuilding(@TempDir Path dir) throws IOException {
+        Building building = create(false, DURATION / 4);
+        building.startSimulation();
+        Path path = dir.resolve("snapshot.bin");
+        SimulationSnapshot.save(building, path);
+
+        Building other = new Building(DURATION, 12, 3.0, 100, new EventRecoder());
+        assertThrows(IOException.class, () -> SimulationSnapshot.restore(other, path));
+        assertThrows(IllegalStateException.class, () -> SimulationSnapshot.restore(building, path));
+    }
+
+    private static void assertSameStore(PassengerStore expected, PassengerStore actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getFinishedCount(), actual.getFinishedCount());
+        for (int id = 0; id < expected.size(); id++) {
+            assertEquals(expected.getOriginFloor(id), actual.getOriginFloor(id));
+            assertEquals(expected.getTargetFloor(id), actual.getTargetFloor(id));
+            assertEquals(expected.getCallTime(id), actual.getCallTime(id));
+            assertEquals(expected.getBoardTime(id), actual.getBoardTime(id), "乘客#" + id);
+            assertEquals(expected.getAlightTime(id), actual.getAlightTime(id), "乘客#" + id);
+        }
+        Iterator<Passenger> actualOrder = actual.finishedInAlightOrder().iterator();
+        for (Passenger passenger : expected.finishedInAlightOrder()) {
+            assertEquals(passenger.getId(), actualOrder.next().getId());
+        }
+    }
+
+    private static Building create(boolean group, long duration) {
+        return TestBuildings.create(duration, 10)
+                .rule(new RandomIntervalRule(8_000, 20_000))
+                .rule(new TimeBasedRule(1_000_000, 2_000_000, 20_000, 40_000, 4_000, 8_000, 1, 0, 0.2))
+                .elevator(1.5, new Algorithm_FDSCAN())
+                .elevators(2, 1.5, Algorithm_LOOK::new)
+                .groupController(group ? new GroupController_ETA() : null)
+                .seed(7)
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package github.axolotl.elevator.motion;
+
+import github.axolotl.TestBuildings;
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.algorithm.Algorithm_SSTF;
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.elevator.Building;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.passenger.Passenger;
+import github.axolotl.passenger.PassengerStore;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 运动学模型的解析解, 以及按运动学模型运行的电梯
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class MotionProfileTest {
+
+    @Test
+    public void testConstantSpeedIsExact() {
+        ConstantSpeedProfile profile = new ConstantSpeedProfile(1.75);
+        assertEquals(17, profile.freeDistance(10));
+        assertEquals(1750 * 60, profile.freeDistance(60_000));//不随步数累加误差
+        assertEquals(1715, profile.freeTime(3000));//1714.28...向上取整
+        assertEquals(3000, profile.runDistance(3000, 1715));
+        assertTrue(profile.runDistance(3000, 1714) < 3000);
+        assertEquals(profile.runTime(3000), profile.brakeTime(3000));
+    }
+
+    @Test
+    public void testSymmetricProfiles() {
+        List<MotionProfile> profiles = List.of(new TrapezoidalProfile(2.5, 1.0), new JerkLimitedProfile(6, 1.2, 1.5),
+                new JerkLimitedProfile(1, 1.0, 1.0));
+        for (MotionProfile profile : profiles) {
+            String name = profile.getClass().getSimpleName() + " " + profile.getSpeed();
+            for (long distance : new long[]{1, 500, 3000, 12_000, 90_000}) {
+                long runTime = profile.runTime(distance);
+                long brakeTime = profile.brakeTime(distance);
+                assertTrue(brakeTime < runTime, name);
+                assertEquals(distance, profile.runDistance(distance, runTime), name);
+                assertTrue(profile.runTime(distance, distance) <= runTime, name);//S形曲线最后不到1mm可能提前取整到楼层
+                //减速点之前与自由运行完全相同
+                assertEquals(profile.freeDistance(brakeTime), profile.runDistance(distance, brakeTime), name);
+
+                long previous = 0;
+                for (long t = 0; t <= runTime; t += 37) {
+                    long travelled = profile.runDistance(distance, t);
+                    assertTrue(travelled >= previous && travelled <= distance, name);
+                    previous = travelled;
+                }
+                long half = profile.runTime(distance, distance / 2);
+                assertTrue(profile.runDistance(distance, half) >= distance / 2, name);
+                assertTrue(half == 0 || profile.runDistance(distance, half - 1) < distance / 2, name);
+            }
+            //最高速度下每秒走过的距离
+            long cruise = profile.freeDistance(200_000) - profile.freeDistance(199_000);
+            assertEquals(profile.getSpeed() * 1000, cruise, 1, name);
+        }
+    }
+
+    @Test
+    public void testFastCarDoesNotSkipFloors() {
+        //8m/s, 100ms一步走800mm, 超过停靠范围的宽度600mm, 五楼的停靠范围(12.9m~13.5m)之内没有tick
+        Building building = new Building(600_000, 12, 3.3, 100, new EventRecoder());
+        Building.Elevator elevator = building.new Elevator(8);
+        elevator.setSchedulingAlgorithm(new Algorithm_LOOK());
+        building.addElevator(elevator);
+        building.passengerCall(new Passenger(5, 9));
+        building.startSimulation();
+
+        PassengerStore store = building.getPassengerStore();
+        assertTrue(store.isFinished(0));
+        //一楼到五楼13.2m需要1.65s, 到九楼还需要1.65s加上开关门时间
+        assertEquals(1700, store.getBoardTime(0), 200);
+        assertEquals(building.floorPosition(9), elevator.getPosition());
+        assertTrue(store.getArriveTime(0) < 4000);
+    }
+
+    @Test
+    public void testProfileCarStopsAtFloor() {
+        Building building = new Building(600_000, 12, 3.0, 100, new EventRecoder());
+        Building.Elevator elevator = building.new Elevator(new TrapezoidalProfile(2.5, 1.0));
+        elevator.setSchedulingAlgorithm(new Algorithm_LOOK());
+        building.addElevator(elevator);
+        building.passengerCall(new Passenger(4, 11));
+        building.setDuration(7_000);
+        building.startSimulation();
+
+        //9m: 加速2.5s走3.125m, 匀速1.1s, 减速2.5s
+        PassengerStore store = building.getPassengerStore();
+        assertEquals(6100, store.getBoardTime(0), 200);
+        assertEquals(building.floorPosition(4), elevator.getPosition());
+
+        building.setDuration(600_000);
+        building.startSimulation();
+        assertTrue(store.isFinished(0));
+        assertEquals(building.floorPosition(11), elevator.getPosition());
+    }
+
+    @Test
+    public void testAdaptiveStepMatchesFixedStep() {
+        List<Supplier<ElevatorSchedulingAlgorithm>> algorithms = List.of(Algorithm_LOOK::new, Algorithm_SSTF::new);
+        for (Supplier<ElevatorSchedulingAlgorithm> algorithm : algorithms) {
+            Building fixed = create(algorithm, 10);
+            fixed.startSimulation();
+            Building adaptive = create(algorithm, 1000);
+            adaptive.startAdaptiveSimulation(10);
+
+            PassengerStore expected = fixed.getPassengerStore();
+            PassengerStore actual = adaptive.getPassengerStore();
+            assertEquals(expected.size(), actual.size());
+            assertTrue(expected.getFinishedCount() > expected.size() * 0.9);
+            for (int id = 0; id < expected.size(); id++) {
+                assertEquals(expected.getBoardTime(id), actual.getBoardTime(id), "乘客#" + id);
+                assertEquals(expected.getAlightTime(id), actual.getAlightTime(id), "乘客#" + id);
+            }
+        }
+    }
+
+    private static Building create(Supplier<ElevatorSchedulingAlgorithm> algorithm, long interval) {
+        return TestBuildings.create(1_500_000, 20).floorHeight(3.5).interval(interval)
+                .rule(new RandomIntervalRule(3_000, 12_000))
+                .elevator(new TrapezoidalProfile(2.5, 1.0), algorithm.get())
+                .elevator(new JerkLimitedProfile(6, 1.2, 1.5), algorithm.get())
+                .seed(5)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package github.axolotl.event;
+
+import github.axolotl.elevator.Building;
+import github.axolotl.passenger.Passenger;
+import github.axolotl.passenger.PassengerStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * EventFormatter 的输出格式测试
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/25
+ */
+public class EventFormatterTest {
+
+    @Test
+    public void testFormat() throws Exception {
+        Building building = new Building(10_000, 10, 3.0, 100, new EventRecoder());
+        Building.Elevator elevator = building.new Elevator(1);
+        building.addElevator(elevator);
+        building.setCurrentTime(12_300);
+
+        PassengerStore store = new PassengerStore();
+        for (int i = 0; i < 12; i++) store.add(1, 2, 0);
+        Passenger passenger = new Passenger(3, 7);
+        passenger.call(store, 5_040);
+
+        EventFormatter formatter = new EventFormatter();
+        assertEquals("[5.040s] 乘客开始等待电梯 乘客#12 3->7",
+                formatter.format(new PassengerEvent(EventType.PassengerCall, passenger, 5_040)));
+        assertEquals("[?] 乘客开始等待电梯 乘客#12 3->7",
+                formatter.format(new PassengerEvent(EventType.PassengerCall, passenger)));
+
+        StringWriter writer = new StringWriter();
+        formatter.write(new ElevatorEvent(EventType.PassengerFinishWait, building, elevator, passenger), writer);
+        assertEquals("[12.300s] 乘客进入电梯 电梯#1 乘客#12 3->7\n", writer.toString());
+    }
+}
@@ -0,0 +1,51 @@
+package github.axolotl.event;
+
+import github.axolotl.event.sink.CountingEventSink;
+import github.axolotl.event.sink.RingBufferEventSink;
+import github.axolotl.passenger.Passenger;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EventRecoder 与各种 EventSink 的测试
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/24
+ */
+public class EventRecoderTest {
+
+    @Test
+    public void testRingBufferKeepsLatestEvents() {
+        EventRecoder eventRecoder = new EventRecoder(new RingBufferEventSink(3));
+        PassengerEvent[] events = new PassengerEvent[5];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new PassengerEvent(i % 2 == 0 ? EventType.PassengerCall : EventType.PassengerFinishWait, new Passenger(1, 2));
+            eventRecoder.addEvent(events[i]);
+        }
+
+        List<AbstractEvent> kept = eventRecoder.getEvents();
+        assertEquals(3, kept.size());
+        assertSame(events[2], kept.get(0));
+        assertSame(events[4], kept.get(2));
+        assertEquals(2, eventRecoder.getEventsByType(EventType.PassengerCall).size());
+        assertEquals(3, eventRecoder.getEventStatistics().get(EventType.PassengerCall));
+        assertEquals(2, eventRecoder.getEventStatistics().get(EventType.PassengerFinishWait));
+    }
+
+    @Test
+    public void testCountingSinkKeepsNothing() {
+        EventRecoder eventRecoder = new EventRecoder(new CountingEventSink());
+        for (int i = 0; i < 10; i++) {
+            eventRecoder.addEvent(new PassengerEvent(EventType.PassengerCall, new Passenger(1, 2)));
+        }
+
+        assertTrue(eventRecoder.getEvents().isEmpty());
+        assertEquals(10, eventRecoder.getEventStatistics().get(EventType.PassengerCall));
+    }
+}
@@ -0,0 +1,55 @@
+package github.axolotl.event.log;
+
+import github.axolotl.event.EventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 二进制事件日志的读写测试
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/25
+ */
+public class BinaryEventLogTest {
+
+    @Test
+    public void testWriteAndRead(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("events.bin");
+        int count = 200_000;//超过写入缓冲区的容量
+        try (BinaryEventLogWriter writer = new BinaryEventLogWriter(path)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(i * 100L, EventType.values()[i % 3], i % 4 - 1, i, i % 10 + 1, i % 7 + 1, i % 5 + 1);
+            }
+        }
+
+        try (BinaryEventLogReader reader = new BinaryEventLogReader(path)) {
+            assertEquals(count, reader.count());
+            int i = 0;
+            while (reader.next()) {
+                assertEquals(i * 100L, reader.time());
+                assertEquals(EventType.values()[i % 3], reader.type());
+                assertEquals(i % 4 - 1, reader.elevator());
+                assertEquals(i, reader.passenger());
+                assertEquals(i % 10 + 1, reader.origin());
+                assertEquals(i % 7 + 1, reader.target());
+                assertEquals(i % 5 + 1, reader.floor());
+                i++;
+            }
+            assertEquals(count, i);
+            assertFalse(reader.next());
+
+            reader.seek(12345);
+            assertEquals(1234500L, reader.time());
+            assertTrue(reader.next());
+            assertEquals(12346, reader.passenger());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package github.axolotl.metrics;
+
+import github.axolotl.TestBuildings;
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.elevator.Building;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import github.axolotl.statistics.PassengerStatistics;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 运行指标的计数和JMX注册
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class SimulationMetricsTest {
+    private static final long DURATION = 2_000_000;
+    private static final long INTERVAL = 100;
+
+    @Test
+    public void testCountsMatchTickLoop() {
+        SimulationMetrics metrics = new SimulationMetrics();
+        Building building = create();
+        building.setMetrics(metrics);
+        building.startSimulation();
+
+        long steps = DURATION / INTERVAL + 1;
+        assertEquals(steps, metrics.getSteps());
+        Map<String, Long> counts = metrics.getLatencyCounts();
+        assertEquals(steps, counts.get(SimulationMetrics.STEP));
+        assertEquals(steps * 2, counts.get(SimulationMetrics.ELEVATOR_TICK));
+        assertEquals(steps * 2, counts.get(SimulationMetrics.DO_LOGIC + "Algorithm_LOOK"));
+
+        long calls = building.getPassengerStore().size();
+        assertTrue(calls > 0);
+        assertEquals(calls, metrics.getPassengerCalls());
+        assertEquals(calls * 2, counts.get(SimulationMetrics.PASSENGER_CALL + "Algorithm_LOOK"));
+        assertTrue(metrics.getMaxWaitingPassengers() >= 1);
+        assertEquals(building.getCurrentTime(), metrics.getSimulatedTime());
+        assertTrue(metrics.getStepsPerSecond() > 0);
+        assertTrue(metrics.dump().contains(SimulationMetrics.DO_LOGIC + "Algorithm_LOOK"));
+    }
+
+    @Test
+    public void testMetricsDoNotChangeResults() {
+        Building plain = create();
+        plain.startEventSimulation();
+
+        Building measured = create();
+        SimulationMetrics metrics = new SimulationMetrics();
+        measured.setMetrics(metrics);
+        measured.startEventSimulation();
+
+        PassengerStatistics expected = plain.getEventRecoder().getStatistics();
+        PassengerStatistics actual = measured.getEventRecoder().getStatistics();
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getWaitingTime().getSum(), actual.getWaitingTime().getSum());
+        assertEquals(expected.getRideTime().getSum(), actual.getRideTime().getSum());
+        assertTrue(metrics.getSteps() > 0);
+        assertEquals(measured.getPassengerStore().size(), metrics.getPassengerCalls());
+        assertEquals(metrics.getSteps() * 2, metrics.getLatencyCounts().get(SimulationMetrics.ELEVATOR_TICK));
+    }
+
+    @Test
+    public void testAdaptiveEngineAndReset() {
+        SimulationMetrics metrics = new SimulationMetrics();
+        Building building = create();
+        building.setMetrics(metrics);
+        building.startAdaptiveSimulation(10);
+
+        assertTrue(metrics.getSteps() > 0);
+        assertEquals(metrics.getSteps() * 2, metrics.getLatencyCounts().get(SimulationMetrics.ELEVATOR_TICK));
+        assertEquals(metrics.getSteps() * 2, metrics.getLatencyCounts().get(SimulationMetrics.DO_LOGIC + "Algorithm_LOOK"));
+
+        metrics.reset();
+        assertEquals(0, metrics.getSteps());
+        assertEquals(0, metrics.getPassengerCalls());
+        assertEquals(0, metrics.getLatencyCounts().get(SimulationMetrics.ELEVATOR_TICK));
+    }
+
+    @Test
+    public void testResetRequestedAfterLastStep() throws InterruptedException {
+        SimulationMetrics metrics = new SimulationMetrics();
+        metrics.runStarted();
+        metrics.recordStep(1_000);
+
+        Thread reader = new Thread(metrics::reset);
+        reader.start();
+        reader.join();
+        assertEquals(1, metrics.getSteps());//运行期间只做标记
+
+        metrics.runFinished();
+        assertEquals(0, metrics.getSteps());
+        assertEquals(0, metrics.getLatencyCounts().get(SimulationMetrics.STEP));
+    }
+
+    @Test
+    public void testJmxRegistration() throws Exception {
+        SimulationMetrics metrics = new SimulationMetrics();
+        Building building = create();
+        building.setMetrics(metrics);
+        building.startSimulation();
+
+        ObjectName name = MetricsRegistry.register("test", metrics);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(metrics.getSteps(), server.getAttribute(name, "Steps"));
+            assertNotNull(server.invoke(name, "dump", null, null));
+        } finally {
+            MetricsRegistry.unregister("test");
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    private static Building create() {
+        return TestBuildings.create(DURATION, 8).interval(INTERVAL)
+                .rule(new RandomIntervalRule(8_000, 25_000))
+                .elevators(2, 1.5, Algorithm_LOOK::new)
+                .seed(3)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package github.axolotl.model;
+
+import github.axolotl.TestBuildings;
+import github.axolotl.algorithm.Algorithm_FCFS;
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.algorithm.Algorithm_SSTF;
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.elevator.Building;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import github.axolotl.statistics.PassengerStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分支使用与前缀相同的算法时, 结果应与完整运行一次相同
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class ForkRunnerTest {
+    private static final long DURATION = 4_000_000;
+    private static final long FORK_TIME = 2_500_000;
+
+    @Test
+    public void testBranchMatchesFullRun() {
+        List<ScenarioRunner.Result> results = new ForkRunner("small", ForkRunnerTest::create, Algorithm_LOOK::new, FORK_TIME)
+                .addAlgorithm("FCFS", Algorithm_FCFS::new)
+                .addAlgorithm("LOOK", Algorithm_LOOK::new)
+                .addAlgorithm("SSTF", Algorithm_SSTF::new)
+                .addSeed(1).addSeed(2)
+                .run();
+        ScenarioRunner.printSummary(results);
+
+        assertEquals(6, results.size());
+        assertEquals("SSTF", results.get(2).algorithm());
+        assertEquals(2, results.get(3).seed());
+
+        for (int i = 0; i < 2; i++) {
+            long seed = i + 1;
+            Building building = create(new Algorithm_LOOK(), new EventRecoder());
+            building.seed(seed);
+            building.startSimulation();
+            PassengerStatistics expected = ForkRunner.statisticsAfter(building.getPassengerStore(), FORK_TIME);
+
+            PassengerStatistics actual = results.get(i * 3 + 1).statistics();
+            assertTrue(actual.getCount() > 0);
+            assertEquals(expected.getCount(), actual.getCount());
+            assertEquals(expected.getWaitingTime().getSum(), actual.getWaitingTime().getSum());
+            assertEquals(expected.getRideTime().getSum(), actual.getRideTime().getSum());
+        }
+    }
+
+    private static Building create(ElevatorSchedulingAlgorithm algorithm, EventRecoder eventRecoder) {
+        return TestBuildings.create(DURATION, 8).eventRecoder(eventRecoder)
+                .rule(new RandomIntervalRule(8_000, 25_000))
+                .elevators(2, 1.5, () -> algorithm)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package github.axolotl.model;
+
+import github.axolotl.TestBuildings;
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.elevator.Building;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import github.axolotl.util.AntitheticRandom;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 重复实验的停止条件、可复现性与对偶随机数流
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class ReplicationRunnerTest {
+
+    @Test
+    public void testStopsWhenPrecise() {
+        ReplicationRunner.Report report = runner().setRelativeWidth(0.05).run();
+        ReplicationRunner.printReport(report);
+
+        assertTrue(report.converged());
+        assertTrue(report.replications() < 200);
+        assertEquals(0, report.replications() % 5);
+        for (ReplicationRunner.Estimate estimate : report.estimates()) {
+            assertTrue(estimate.halfWidth() <= 0.05 * estimate.mean());
+        }
+
+        ReplicationRunner.Report limited = runner().setRelativeWidth(1e-6).setMaxReplications(7).run();
+        assertFalse(limited.converged());
+        assertEquals(7, limited.replications());
+    }
+
+    @Test
+    public void testIndependentOfParallelism() {
+        ReplicationRunner.Report parallel = runner().setAntithetic(true).setParallelism(4).run();
+        ReplicationRunner.Report sequential = runner().setAntithetic(true).setParallelism(1).run();
+
+        assertEquals(sequential.replications(), parallel.replications());
+        assertEquals(2 * parallel.replications(), parallel.runs());
+        assertEquals(sequential.pooled().getWaitingTime().getSum(), parallel.pooled().getWaitingTime().getSum());
+        assertEquals(sequential.estimates().get(2).mean(), parallel.estimates().get(2).mean());
+    }
+
+    @Test
+    public void testAntitheticRandomMirrorsSource() {
+        SplittableRandom source = new SplittableRandom(7);
+        AntitheticRandom antithetic = new AntitheticRandom(new SplittableRandom(7));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(11, source.nextInt(1, 11) + antithetic.nextInt(1, 11));
+            double u = antithetic.nextDouble();
+            assertTrue(u >= 0 && u < 1);
+            assertEquals(1.0, source.nextDouble() + u, 1e-15);
+        }
+
+        //拆分出的子流也是对偶的
+        SplittableRandom child = source.split();
+        var antitheticChild = antithetic.split();
+        assertEquals(9, child.nextInt(0, 10) + antitheticChild.nextInt(0, 10));
+    }
+
+    private ReplicationRunner runner() {
+        return new ReplicationRunner(ReplicationRunnerTest::create, Algorithm_LOOK::new)
+                .setSeed(1)
+                .setBatchSize(5)
+                .setMinReplications(5)
+                .setMaxReplications(200);
+    }
+
+    private static Building create(ElevatorSchedulingAlgorithm algorithm, EventRecoder eventRecoder) {
+        return TestBuildings.create(1_800_000, 8).eventRecoder(eventRecoder)
+                .rule(new RandomIntervalRule(10_000, 30_000))
+                .elevator(1.5, algorithm)
+                .build();
+    }
+}
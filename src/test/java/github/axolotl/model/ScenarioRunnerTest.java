@@ -0,0 +1,60 @@
+package github.axolotl.model;
+
+import github.axolotl.TestBuildings;
+import github.axolotl.algorithm.Algorithm_FCFS;
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.algorithm.ElevatorSchedulingAlgorithm;
+import github.axolotl.elevator.Building;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 并行运行的结果应与串行运行相同
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class ScenarioRunnerTest {
+
+    @Test
+    public void testParallelMatchesSequential() {
+        List<ScenarioRunner.Result> parallel = runner().setParallelism(4).run();
+        List<ScenarioRunner.Result> sequential = runner().setParallelism(1).run();
+        ScenarioRunner.printSummary(parallel);
+
+        assertEquals(2 * 2 * 3, parallel.size());
+        for (int i = 0; i < parallel.size(); i++) {
+            ScenarioRunner.Result a = parallel.get(i);
+            ScenarioRunner.Result b = sequential.get(i);
+            assertEquals(a.model() + a.algorithm() + a.seed(), b.model() + b.algorithm() + b.seed());
+            assertEquals(a.statistics().getCount(), b.statistics().getCount());
+            assertEquals(a.statistics().getWaitingTime().getSum(), b.statistics().getWaitingTime().getSum());
+            assertEquals(a.statistics().getRideTime().getSum(), b.statistics().getRideTime().getSum());
+        }
+        assertEquals("small", parallel.get(0).model());
+        assertEquals("LOOK", parallel.get(3).algorithm());
+        assertEquals(3, parallel.get(2).seed());
+    }
+
+    private ScenarioRunner runner() {
+        return new ScenarioRunner()
+                .addModel("small", (algorithm, eventRecoder) -> create(algorithm, eventRecoder, 6))
+                .addModel("large", (algorithm, eventRecoder) -> create(algorithm, eventRecoder, 12))
+                .addAlgorithm("FCFS", Algorithm_FCFS::new)
+                .addAlgorithm("LOOK", Algorithm_LOOK::new)
+                .addSeed(1).addSeed(2).addSeed(3);
+    }
+
+    private static Building create(ElevatorSchedulingAlgorithm algorithm, EventRecoder eventRecoder, int floors) {
+        return TestBuildings.create(3_000_000, floors).eventRecoder(eventRecoder)
+                .rule(new RandomIntervalRule(15_000, 30_000))
+                .elevator(1.5, algorithm)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package github.axolotl.passenger;
+
+import github.axolotl.TestBuildings;
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.elevator.Building;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 到达间隔小于interval时每个tick生成所有到期的乘客
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class ArrivalScheduleTest {
+    private static final long DURATION = 600_000;
+
+    @Test
+    public void testHighRateNotUnderGenerated() {
+        //平均间隔15ms, 每个100ms的tick约有6~7个到达
+        Building tick = create();
+        tick.startSimulation();
+        Building event = create();
+        event.startEventSimulation();
+
+        PassengerStore expected = event.getPassengerStore();
+        PassengerStore actual = tick.getPassengerStore();
+        assertTrue(actual.size() > DURATION / 20, "乘客数量: " + actual.size());
+        assertEquals(expected.size(), actual.size());
+        for (int id = 0; id < expected.size(); id++) {
+            assertEquals(expected.getOriginFloor(id), actual.getOriginFloor(id));
+            assertEquals(expected.getTargetFloor(id), actual.getTargetFloor(id));
+            assertEquals(0, actual.getCallTime(id) % tick.getInterval());
+        }
+    }
+
+    @Test
+    public void testNextTime() {
+        Building building = create();
+        ArrivalSchedule schedule = new ArrivalSchedule(building);
+        long first = schedule.nextTime();
+        assertTrue(first >= 10 && first < 20);
+
+        building.setCurrentTime(1_000);
+        int generated = schedule.release(building);
+        assertEquals(building.getPassengerStore().size(), generated);
+        assertTrue(generated > 1_000 / 20);
+        assertTrue(schedule.nextTime() > 1_000);
+        assertEquals(0, schedule.release(building));
+
+        assertEquals(Long.MAX_VALUE, new ArrivalSchedule(new Building(DURATION, 8, 3.0, 100, new EventRecoder())).nextTime());
+    }
+
+    private static Building create() {
+        return TestBuildings.create(DURATION, 8)
+                .rule(new RandomIntervalRule(10, 20))
+                .elevator(1.5, new Algorithm_LOOK())
+                .seed(5)
+                .build();
+    }
+}
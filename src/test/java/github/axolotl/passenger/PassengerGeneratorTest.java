@@ -0,0 +1,62 @@
+package github.axolotl.passenger;
+
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.elevator.Building;
+import github.axolotl.event.ElevatorEvent;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.event.EventType;
+import github.axolotl.passenger.rule.LimitedFloorRule;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import github.axolotl.passenger.rule.TimeBasedRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * 固定随机种子后的可复现性测试
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class PassengerGeneratorTest {
+
+    @Test
+    public void testSameSeedSameResult() {
+        //同时在两个线程中运行, 结果应与单独运行完全相同
+        CompletableFuture<List<String>> a = CompletableFuture.supplyAsync(() -> simulate(7));
+        CompletableFuture<List<String>> b = CompletableFuture.supplyAsync(() -> simulate(7));
+        List<String> expected = simulate(7);
+
+        assertEquals(expected, a.join());
+        assertEquals(expected, b.join());
+        assertNotEquals(expected, simulate(8));
+    }
+
+    private List<String> simulate(long seed) {
+        EventRecoder eventRecoder = new EventRecoder();
+        Building building = new Building(3_000_000, 8, 3.0, 100, eventRecoder);
+
+        PassengerGenerator generator = new PassengerGenerator();
+        generator.addRule(new RandomIntervalRule(20_000, 40_000));
+        generator.addRule(new TimeBasedRule(1_000_000, 2_000_000, 30_000, 60_000, 10_000, 20_000, 1, 0, 0.2));
+        building.addPassengerGenerators(generator);
+        building.seed(seed);
+        generator.addRule(new LimitedFloorRule(40_000, 80_000, 2, 6));//种子之后添加的规则
+
+        Building.Elevator elevator = building.new Elevator(1);
+        elevator.setSchedulingAlgorithm(new Algorithm_LOOK());
+        building.addElevator(elevator);
+        building.startSimulation();
+
+        return eventRecoder.getEventsByType(EventType.PassengerFinishElevator).stream()
+                .map(event -> ((ElevatorEvent) event).getPassenger())
+                .map(p -> p.getId() + ":" + p.getOriginFloor() + "->" + p.getTargetFloor()
+                        + "@" + p.getCallTime() + "/" + p.getBoardTime() + "/" + p.getAlightTime())
+                .toList();
+    }
+}
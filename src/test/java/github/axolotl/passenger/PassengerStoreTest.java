@@ -0,0 +1,111 @@
+package github.axolotl.passenger;
+
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.algorithm.GroupController_ETA;
+import github.axolotl.elevator.Building;
+import github.axolotl.elevator.Direction;
+import github.axolotl.event.EventRecoder;
+import github.axolotl.event.sink.CountingEventSink;
+import github.axolotl.passenger.rule.RandomIntervalRule;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 按列保存的乘客数据与乘客视图
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class PassengerStoreTest {
+
+    @Test
+    public void testPassengerIsViewOfStore() {
+        PassengerStore store = new PassengerStore(2);//从很小的容量开始, 覆盖扩容
+        Passenger passenger = new Passenger(7, 2);
+        assertEquals(-1, passenger.getCallTime());
+        assertEquals(0, passenger.getWaitingTime());
+        assertThrows(IllegalStateException.class, () -> passenger.finishWait(0));
+
+        for (int i = 0; i < 5; i++) store.add(1, 2, 0);
+        passenger.call(store, 1_000);
+        assertEquals(5, passenger.getId());
+        assertEquals(Direction.DOWN, store.getDirection(5));
+
+        passenger.finishWait(4_500);
+        passenger.finishElevator(10_000);
+        assertEquals(3_500, passenger.getWaitingTime());
+        assertEquals(5_500, passenger.getArriveTime());
+        assertEquals(10_000, store.getAlightTime(5));
+
+        Passenger view = store.get(5);
+        assertEquals(passenger, view);
+        assertEquals(7, view.getOriginFloor());
+        assertEquals(Direction.DOWN, view.getDirection());
+        assertEquals(3_500, view.getWaitingTime());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(6));
+    }
+
+    @Test
+    public void testFinishedInCallOrder() {
+        PassengerStore store = new PassengerStore();
+        for (int i = 0; i < 10; i++) store.add(1, i + 2, i * 100L);
+        store.setBoardTime(6, 900);
+        store.setAlightTime(6, 1_000);
+        store.setBoardTime(2, 900);
+        store.setAlightTime(2, 1_200);
+        store.setAlightTime(2, 1_300);//重复记录不重复计数
+
+        List<Integer> ids = new ArrayList<>();
+        for (Passenger passenger : store.finished()) ids.add(passenger.getId());
+        assertEquals(List.of(2, 6), ids);
+        assertEquals(2, store.getFinishedCount());
+        assertEquals(400, store.getArriveTime(2));
+        assertFalse(store.isFinished(3));
+
+        ids.clear();
+        for (Passenger passenger : store.finishedInAlightOrder()) ids.add(passenger.getId());
+        assertEquals(List.of(6, 2), ids);
+    }
+
+    /**
+     * 60层、8部电梯的建筑模拟一周(约30万名乘客), 事件只计数, 离开电梯的乘客只保留存储中的一行
+     * 模拟结束后存活数据约增加17MB; 默认的 {@link github.axolotl.event.sink.InMemoryEventSink} 保留所有事件和乘客对象,
+     * 会超过这里的40MB上限
+     */
+    @Test
+    public void testWeekRunKeepsLittleLiveHeap() {
+        long before = liveHeap();
+        EventRecoder eventRecoder = new EventRecoder(new CountingEventSink());
+        Building building = new Building(7L * 24 * 3600 * 1000, 60, 3.0, 100, eventRecoder);
+        PassengerGenerator generator = new PassengerGenerator();
+        generator.addRule(new RandomIntervalRule(1_000, 3_000));
+        building.addPassengerGenerators(generator);
+        building.seed(1);
+        for (int i = 0; i < 8; i++) {
+            Building.Elevator elevator = building.new Elevator(4);
+            elevator.setSchedulingAlgorithm(new Algorithm_LOOK());
+            building.addElevator(elevator);
+        }
+        building.setGroupController(new GroupController_ETA());
+        building.startEventSimulation();
+
+        long live = liveHeap() - before;
+        System.out.printf("一周 %d 名乘客, 存活数据 %.1fMB\n", building.getPassengerStore().size(), live / 1048576.0);
+        assertTrue(building.getPassengerStore().size() > 290_000);
+        assertTrue(eventRecoder.getStatistics().getCount() > 290_000);
+        assertTrue(live < 40L * 1024 * 1024, "存活数据 " + live);
+        assertNotNull(building);//模拟的数据在测量时仍然可达
+    }
+
+    private static long liveHeap() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
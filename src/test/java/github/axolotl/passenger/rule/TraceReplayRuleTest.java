@@ -0,0 +1,168 @@
+package github.axolotl.passenger.rule;
+
+import github.axolotl.TestBuildings;
+import github.axolotl.algorithm.Algorithm_LOOK;
+import github.axolotl.elevator.Building;
+import github.axolotl.elevator.SimulationSnapshot;
+import github.axolotl.passenger.PassengerGenerator;
+import github.axolotl.passenger.PassengerStore;
+import github.axolotl.passenger.trace.BinaryTraceReader;
+import github.axolotl.passenger.trace.BinaryTraceWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 到达记录回放: CSV与二进制格式一致, 同一时间步的多个到达都会生成, 可以从快照继续回放
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class TraceReplayRuleTest {
+
+    @Test
+    public void testSameTickArrivals(@TempDir Path dir) throws IOException {
+        Path csv = dir.resolve("trace.csv");
+        Files.writeString(csv, """
+                time,origin,target
+                # 注释
+                1000, 1, 5
+                1000,3,1
+                1030,2,2
+                1030,2,99
+                1050,4,2,额外的列
+
+                2000,5,1
+                """);
+
+        Building building = create(5_000);
+        try (TraceReplayRule rule = TraceReplayRule.open(csv)) {
+            addRule(building, rule);
+            building.startSimulation();
+
+            PassengerStore store = building.getPassengerStore();
+            assertEquals(4, store.size());
+            assertEquals(2, rule.getSkippedCount());
+            assertEquals(6, rule.getConsumedCount());
+            assertEquals(List.of(1000L, 1000L, 1100L, 2000L), callTimes(store));
+            assertEquals(3, store.getOriginFloor(1));
+            assertEquals(2, store.getTargetFloor(2));
+            assertEquals(Long.MAX_VALUE, rule.nextGenerateTime(building.getCurrentTime()));
+        }
+
+        //事件驱动时在记录的时间准确到达
+        Building event = create(5_000);
+        try (TraceReplayRule rule = TraceReplayRule.open(csv)) {
+            addRule(event, rule);
+            event.startEventSimulation();
+            assertEquals(List.of(1000L, 1000L, 1050L, 2000L), callTimes(event.getPassengerStore()));
+        }
+    }
+
+    @Test
+    public void testBinaryMatchesCsv(@TempDir Path dir) throws IOException {
+        Path csv = dir.resolve("trace.csv");
+        writeRandomTrace(csv, 2_000, 600_000);
+        Path binary = dir.resolve("trace.bin");
+        assertEquals(2_000, BinaryTraceWriter.convert(csv, binary));
+
+        try (BinaryTraceReader reader = new BinaryTraceReader(binary)) {
+            assertEquals(2_000, reader.count());
+        }
+
+        Building fromCsv = create(700_000);
+        Building fromBinary = create(700_000);
+        try (TraceReplayRule a = TraceReplayRule.open(csv); TraceReplayRule b = TraceReplayRule.open(binary)) {
+            addRule(fromCsv, a);
+            addRule(fromBinary, b);
+            fromCsv.startSimulation();
+            fromBinary.startSimulation();
+        }
+        assertEquals(2_000, fromCsv.getPassengerStore().size());
+        assertSameStore(fromCsv.getPassengerStore(), fromBinary.getPassengerStore());
+    }
+
+    @Test
+    public void testResumeFromSnapshot(@TempDir Path dir) throws IOException {
+        Path csv = dir.resolve("trace.csv");
+        writeRandomTrace(csv, 1_000, 400_000);
+        Path binary = dir.resolve("trace.bin");
+        BinaryTraceWriter.convert(csv, binary);
+
+        for (Path trace : new Path[]{csv, binary}) {
+            Building uninterrupted = create(500_000);
+            Building first = create(200_000);
+            Building resumed = create(500_000);
+            try (TraceReplayRule a = TraceReplayRule.open(trace);
+                 TraceReplayRule b = TraceReplayRule.open(trace);
+                 TraceReplayRule c = TraceReplayRule.open(trace)) {
+                addRule(uninterrupted, a);
+                addRule(first, b);
+                addRule(resumed, c);
+                uninterrupted.startSimulation();
+                first.startSimulation();
+                SimulationSnapshot.restore(resumed, SimulationSnapshot.toBytes(first));
+                assertEquals(b.getConsumedCount(), c.getConsumedCount());
+                resumed.startSimulation();
+            }
+            assertSameStore(uninterrupted.getPassengerStore(), resumed.getPassengerStore());
+        }
+    }
+
+    /**
+     * 随机生成按时间排序的记录, 有约一半的记录与上一条时间相同
+     */
+    private static void writeRandomTrace(Path path, int count, long duration) throws IOException {
+        SplittableRandom random = new SplittableRandom(3);
+        StringBuilder text = new StringBuilder("time,origin,target\n");
+        long time = 0;
+        for (int i = 0; i < count; i++) {
+            if (random.nextBoolean()) time += random.nextLong(0, 2 * duration / count);
+            int origin = random.nextInt(1, 11);
+            int target = random.nextInt(1, 10);
+            if (target >= origin) target++;
+            text.append(time).append(',').append(origin).append(',').append(target).append('\n');
+        }
+        Files.writeString(path, text);
+    }
+
+    private static List<Long> callTimes(PassengerStore store) {
+        List<Long> times = new ArrayList<>();
+        for (int id = 0; id < store.size(); id++) {
+            times.add(store.getCallTime(id));
+        }
+        return times;
+    }
+
+    private static void assertSameStore(PassengerStore expected, PassengerStore actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int id = 0; id < expected.size(); id++) {
+            assertEquals(expected.getOriginFloor(id), actual.getOriginFloor(id));
+            assertEquals(expected.getTargetFloor(id), actual.getTargetFloor(id));
+            assertEquals(expected.getCallTime(id), actual.getCallTime(id));
+            assertEquals(expected.getBoardTime(id), actual.getBoardTime(id), "乘客#" + id);
+            assertEquals(expected.getAlightTime(id), actual.getAlightTime(id), "乘客#" + id);
+        }
+    }
+
+    private static void addRule(Building building, TraceReplayRule rule) {
+        PassengerGenerator generator = new PassengerGenerator();
+        generator.addRule(rule);
+        building.addPassengerGenerators(generator);
+    }
+
+    private static Building create(long duration) {
+        return TestBuildings.create(duration, 10)
+                .elevators(2, 1.5, Algorithm_LOOK::new)
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package github.axolotl.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RunningStatistics 的均值方差与置信区间测试
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class RunningStatisticsTest {
+
+    @Test
+    public void testMeanAndVariance() {
+        Random random = new Random(42);
+        double[] values = new double[10_000];
+        RunningStatistics statistics = new RunningStatistics();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1e6 + random.nextGaussian() * 3;//均值远大于标准差时直接求平方和会损失精度
+            statistics.record(values[i]);
+        }
+
+        double mean = 0;
+        for (double value : values) mean += value / values.length;
+        double variance = 0;
+        for (double value : values) variance += (value - mean) * (value - mean) / (values.length - 1);
+
+        assertEquals(values.length, statistics.getCount());
+        assertEquals(mean, statistics.getMean(), 1e-6);
+        assertEquals(variance, statistics.getVariance(), 1e-6);
+        assertTrue(Double.isNaN(new RunningStatistics().getHalfWidth(0.95)));
+    }
+
+    @Test
+    public void testQuantiles() {
+        assertEquals(1.959964, RunningStatistics.normalQuantile(0.975), 1e-6);
+        assertEquals(-2.326348, RunningStatistics.normalQuantile(0.01), 1e-6);
+        assertEquals(3.182446, RunningStatistics.studentQuantile(0.975, 3), 3.182446 * 0.005);
+        assertEquals(2.262157, RunningStatistics.studentQuantile(0.975, 9), 1e-3);
+        assertEquals(2.042272, RunningStatistics.studentQuantile(0.975, 30), 1e-5);
+    }
+
+    @Test
+    public void testHalfWidth() {
+        RunningStatistics statistics = new RunningStatistics();
+        for (double value : new double[]{9, 10, 11, 10, 10, 9, 11, 10, 10, 10}) statistics.record(value);
+
+        //s = sqrt(4/9), 半宽 = t(0.975, 9) * s / sqrt(10)
+        assertEquals(2.262157 * Math.sqrt(4.0 / 9) / Math.sqrt(10), statistics.getHalfWidth(0.95), 1e-3);
+        assertEquals(statistics.getHalfWidth(0.95) / 10, statistics.getRelativeHalfWidth(0.95), 1e-12);
+    }
+}
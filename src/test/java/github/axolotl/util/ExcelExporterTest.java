@@ -0,0 +1,100 @@
+package github.axolotl.util;
+
+import github.axolotl.passenger.Passenger;
+import github.axolotl.passenger.PassengerStore;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 流式导出与普通导出的结果对比
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/25
+ */
+public class ExcelExporterTest {
+
+    @Test
+    public void testStreamingMatchesInMemory(@TempDir Path dir) throws Exception {
+        PassengerStore store = new PassengerStore();
+        List<Passenger> passengers = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            Passenger passenger = new Passenger(i % 7 + 1, (i + 3) % 7 + 1);
+            passenger.call(store, i * 1000L);
+            passenger.finishWait(i * 1000L + i % 13 * 700);
+            passenger.finishElevator(i * 1000L + i % 13 * 700 + i % 5 * 3100);
+            passengers.add(passenger);
+        }
+
+        String normal = dir.resolve("normal.xlsx").toString();
+        String streaming = dir.resolve("streaming.xlsx").toString();
+        ExcelExporter.exportPassengerData(passengers, normal);
+        ExcelExporter.exportPassengerDataStreaming(passengers, streaming, 100, true);
+
+        try (Workbook expected = WorkbookFactory.create(new File(normal));
+             Workbook actual = WorkbookFactory.create(new File(streaming))) {
+            assertEquals(expected.getNumberOfSheets(), actual.getNumberOfSheets());
+            for (int i = 0; i < expected.getNumberOfSheets(); i++) {
+                assertSheetEquals(expected.getSheetAt(i), actual.getSheetAt(i));
+            }
+        }
+    }
+
+    @Test
+    public void testStoreExportMatchesList(@TempDir Path dir) throws Exception {
+        PassengerStore store = new PassengerStore(16);
+        List<Passenger> boarded = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Passenger passenger = new Passenger(i % 9 + 1, (i + 4) % 9 + 1);
+            passenger.call(store, i * 1000L);
+            passenger.finishWait(i * 1000L + i % 11 * 500);
+            if (i % 7 == 0) continue;//还在电梯里的乘客不导出
+            boarded.add(passenger);
+        }
+        //离开顺序与呼叫顺序不同, 导出按离开顺序
+        List<Passenger> finished = new ArrayList<>();
+        for (int i = boarded.size() - 1; i >= 0; i -= 2) finished.add(boarded.get(i));
+        for (int i = boarded.size() % 2 == 0 ? 0 : 1; i < boarded.size(); i += 2) finished.add(boarded.get(i));
+        for (Passenger passenger : finished) {
+            passenger.finishElevator(1_000_000L + passenger.getId() % 3 * 2700);
+        }
+        assertEquals(300, store.size());
+        assertEquals(finished.size(), store.getFinishedCount());
+
+        String list = dir.resolve("list.xlsx").toString();
+        String columns = dir.resolve("store.xlsx").toString();
+        ExcelExporter.exportPassengerData(finished, list);
+        ExcelExporter.exportPassengerDataStreaming(store, columns);
+
+        try (Workbook expected = WorkbookFactory.create(new File(list));
+             Workbook actual = WorkbookFactory.create(new File(columns))) {
+            for (int i = 0; i < expected.getNumberOfSheets(); i++) {
+                assertSheetEquals(expected.getSheetAt(i), actual.getSheetAt(i));
+            }
+        }
+    }
+
+    private void assertSheetEquals(Sheet expected, Sheet actual) {
+        assertEquals(expected.getSheetName(), actual.getSheetName());
+        assertEquals(expected.getLastRowNum(), actual.getLastRowNum());
+        for (int r = 0; r <= expected.getLastRowNum(); r++) {
+            Row expectedRow = expected.getRow(r);
+            Row actualRow = actual.getRow(r);
+            assertEquals(expectedRow.getLastCellNum(), actualRow.getLastCellNum());
+            for (int c = 0; c < expectedRow.getLastCellNum(); c++) {
+                assertEquals(expectedRow.getCell(c).toString(), actualRow.getCell(c).toString());
+            }
+        }
+    }
+}
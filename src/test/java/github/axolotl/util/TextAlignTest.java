@@ -0,0 +1,33 @@
+package github.axolotl.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 全角字符按两列计算显示宽度
+ *
+ * @author AxolotlXM
+ * @version 1.0
+ * @since 2025/4/26
+ */
+public class TextAlignTest {
+
+    @Test
+    public void testWidth() {
+        assertEquals(0, TextAlign.width(""));
+        assertEquals(3, TextAlign.width("p99"));
+        assertEquals(4, TextAlign.width("均值"));
+        assertEquals(5, TextAlign.width("±半宽"));
+        assertEquals(8, TextAlign.width("耗时(ms)"));
+        assertEquals(4, TextAlign.width("（）"));
+    }
+
+    @Test
+    public void testPadding() {
+        assertEquals("  均值", TextAlign.right("均值", 6));
+        assertEquals("均值  ", TextAlign.left("均值", 6));
+        assertEquals("LOOK    ", TextAlign.left("LOOK", 8));
+        assertEquals("平均总时间", TextAlign.right("平均总时间", 8));
+    }
+}